@@ -0,0 +1,39 @@
+#!/usr/bin/env python3
+"""Minimal stand-in for the GitHub API endpoints used by GitHubService, for the startup benchmark.
+
+Usage: scripts/github-stub.py <port> [repositories] [branches-per-repository]
+"""
+import json
+import sys
+from http.server import BaseHTTPRequestHandler, ThreadingHTTPServer
+
+PORT = int(sys.argv[1])
+REPOSITORIES = int(sys.argv[2]) if len(sys.argv) > 2 else 20
+BRANCHES = int(sys.argv[3]) if len(sys.argv) > 3 else 3
+
+
+class GitHubStub(BaseHTTPRequestHandler):
+    def do_GET(self):
+        parts = self.path.split("?")[0].strip("/").split("/")
+        if len(parts) == 2 and parts[0] == "users":
+            body = {"login": parts[1], "public_repos": REPOSITORIES}
+        elif len(parts) == 3 and parts[0] == "users" and parts[2] == "repos":
+            body = [{"name": "repository-%d" % r, "fork": False, "owner": {"login": parts[1]}}
+                    for r in range(REPOSITORIES)]
+        elif len(parts) == 4 and parts[0] == "repos" and parts[3] == "branches":
+            body = [{"name": "branch-%d" % b, "commit": {"sha": "%040x" % (b + 1)}} for b in range(BRANCHES)]
+        else:
+            self.send_error(404)
+            return
+        payload = json.dumps(body).encode()
+        self.send_response(200)
+        self.send_header("Content-Type", "application/json")
+        self.send_header("Content-Length", str(len(payload)))
+        self.end_headers()
+        self.wfile.write(payload)
+
+    def log_message(self, format, *args):
+        pass
+
+
+ThreadingHTTPServer(("localhost", PORT), GitHubStub).serve_forever()
@@ -0,0 +1,88 @@
+#!/usr/bin/env bash
+# Measures the time from process launch to the first successful request for every startup mode.
+#
+# Usage: scripts/startup-benchmark.sh [jvm|aot|cds|native ...]
+# Build the artifacts first:
+#   ./mvnw -Paot package              -> jvm and aot modes
+#   ./mvnw -Pcds package              -> cds mode
+#   ./mvnw -Pnative package           -> native mode (requires GraalVM)
+#
+# By default the probe is a repositories request served from scripts/github-stub.py, so it exercises the
+# RestTemplate calls and the Jackson binding of the GitHub models without depending on the GitHub API.
+# Set STUB_UPSTREAM=false to call the configured GitHub API instead, and BENCHMARK_URL to probe another endpoint.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+PORT="${PORT:-8080}"
+STUB_PORT="${STUB_PORT:-8089}"
+STUB_UPSTREAM="${STUB_UPSTREAM:-true}"
+BENCHMARK_URL="${BENCHMARK_URL:-http://localhost:${PORT}/api/github/repositories?username=odyn666}"
+RUNS="${RUNS:-5}"
+TIMEOUT_SECONDS="${TIMEOUT_SECONDS:-60}"
+JAR="target/atiperaRecrutationTask-0.0.1-SNAPSHOT.jar"
+CDS_DIR="target/cds"
+NATIVE="target/atiperaRecrutationTask"
+
+command_for() {
+  case "$1" in
+    jvm) echo "java -jar ${JAR}" ;;
+    aot) echo "java -Dspring.aot.enabled=true -jar ${JAR}" ;;
+    cds) echo "java -XX:SharedArchiveFile=${CDS_DIR}/application.jsa -jar ${CDS_DIR}/atiperaRecrutationTask-0.0.1-SNAPSHOT.jar" ;;
+    native) echo "${NATIVE}" ;;
+    *) echo "Unknown mode: $1" >&2; exit 1 ;;
+  esac
+}
+
+now_millis() {
+  date +%s%3N
+}
+
+measure() {
+  local command="$1"
+  local started
+  started=$(now_millis)
+  $command --server.port="${PORT}" ${upstream_args[@]+"${upstream_args[@]}"} > /dev/null 2>&1 &
+  local pid=$!
+  local deadline=$((started + TIMEOUT_SECONDS * 1000))
+  local elapsed=-1
+
+  while [ "$(now_millis)" -lt "${deadline}" ]; do
+    if curl -sf -o /dev/null -H "Accept: application/json" "${BENCHMARK_URL}"; then
+      elapsed=$(( $(now_millis) - started ))
+      break
+    fi
+    sleep 0.01
+  done
+
+  kill "${pid}" 2> /dev/null || true
+  wait "${pid}" 2> /dev/null || true
+  echo "${elapsed}"
+}
+
+upstream_args=()
+if [ "${STUB_UPSTREAM}" = "true" ]; then
+  python3 scripts/github-stub.py "${STUB_PORT}" &
+  stub_pid=$!
+  trap 'kill "${stub_pid}" 2> /dev/null || true' EXIT
+  upstream_args=(
+    "--github.api.url.users=http://localhost:${STUB_PORT}/users/"
+    "--github.api.url.repos=http://localhost:${STUB_PORT}/repos/"
+  )
+fi
+
+modes=("$@")
+if [ ${#modes[@]} -eq 0 ]; then
+  modes=(jvm aot cds native)
+fi
+
+printf "%-8s %s\n" "mode" "time-to-first-successful-request [ms] (${RUNS} runs)"
+for mode in "${modes[@]}"; do
+  command=$(command_for "${mode}")
+  results=()
+  for _ in $(seq "${RUNS}"); do
+    results+=("$(measure "${command}")")
+  done
+  printf "%-8s %s\n" "${mode}" "${results[*]}"
+done
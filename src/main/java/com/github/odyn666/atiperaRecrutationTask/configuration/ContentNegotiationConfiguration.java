@@ -0,0 +1,18 @@
+package com.github.odyn666.atiperaRecrutationTask.configuration;
+
+import com.github.odyn666.atiperaRecrutationTask.serialization.GitHubDTOProtobufHttpMessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * CBOR and Smile converters are registered by Spring MVC as soon as the Jackson data formats are on the classpath,
+ * Protobuf needs its own converter.
+ */
+@Configuration
+public class ContentNegotiationConfiguration {
+
+    @Bean
+    public GitHubDTOProtobufHttpMessageConverter gitHubDTOProtobufHttpMessageConverter() {
+        return new GitHubDTOProtobufHttpMessageConverter();
+    }
+}
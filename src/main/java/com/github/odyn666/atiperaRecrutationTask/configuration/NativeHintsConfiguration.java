@@ -0,0 +1,40 @@
+package com.github.odyn666.atiperaRecrutationTask.configuration;
+
+import com.github.odyn666.atiperaRecrutationTask.dto.GitHubDTO;
+import com.github.odyn666.atiperaRecrutationTask.model.BranchModel;
+import com.github.odyn666.atiperaRecrutationTask.model.CommitModel;
+import com.github.odyn666.atiperaRecrutationTask.model.GitHubRepositoryModel;
+import com.github.odyn666.atiperaRecrutationTask.model.GitHubUserModel;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Registers reflection hints for the types bound by Jackson, so that the {@code RestTemplate} calls
+ * to the GitHub API and the JSON responses keep working in the AOT and native-image builds.
+ */
+@Configuration
+@RegisterReflectionForBinding({
+        GitHubRepositoryModel.class,
+        GitHubUserModel.class,
+        BranchModel.class,
+        CommitModel.class,
+        GitHubDTO.class
+})
+@ImportRuntimeHints(NativeHintsConfiguration.ResponseArrayHints.class)
+public class NativeHintsConfiguration {
+
+    /**
+     * {@code GitHubService} reads the GitHub API responses as arrays, which Jackson instantiates reflectively.
+     */
+    static class ResponseArrayHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.reflection().registerType(GitHubRepositoryModel[].class);
+            hints.reflection().registerType(BranchModel[].class);
+        }
+    }
+}
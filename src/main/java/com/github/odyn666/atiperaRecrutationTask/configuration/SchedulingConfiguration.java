@@ -0,0 +1,9 @@
+package com.github.odyn666.atiperaRecrutationTask.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@EnableScheduling
+@Configuration
+public class SchedulingConfiguration {
+}
@@ -0,0 +1,20 @@
+package com.github.odyn666.atiperaRecrutationTask.configuration;
+
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TracingConfiguration {
+
+    /**
+     * Exports the finished spans to the application log, so that traces can be inspected without a collector.
+     * Spring Boot adds every {@code SpanExporter} bean to the OpenTelemetry span processor.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "github.tracing.log-exporter.enabled", havingValue = "true")
+    public LoggingSpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+}
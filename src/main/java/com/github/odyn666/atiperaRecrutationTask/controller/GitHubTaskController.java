@@ -1,22 +1,43 @@
 package com.github.odyn666.atiperaRecrutationTask.controller;
 
+import com.github.odyn666.atiperaRecrutationTask.dto.ChangeFeedDTO;
 import com.github.odyn666.atiperaRecrutationTask.dto.GitHubDTO;
 import com.github.odyn666.atiperaRecrutationTask.exception.BadHeaderException;
 import com.github.odyn666.atiperaRecrutationTask.exception.UserNotFoundException;
 import com.github.odyn666.atiperaRecrutationTask.model.GitHubUserModel;
+import com.github.odyn666.atiperaRecrutationTask.serialization.GitHubDTOProtobufHttpMessageConverter;
+import com.github.odyn666.atiperaRecrutationTask.service.ChangeFeedService;
 import com.github.odyn666.atiperaRecrutationTask.service.GitHubService;
+import com.github.odyn666.atiperaRecrutationTask.service.UpstreamCallStats;
+import com.github.odyn666.atiperaRecrutationTask.service.UpstreamCallTracker;
+import com.github.odyn666.atiperaRecrutationTask.service.WatchlistService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api")
 public class GitHubTaskController {
+    private static final List<MediaType> SUPPORTED_MEDIA_TYPES = List.of(
+            MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR,
+            new MediaType("application", "x-jackson-smile"),
+            GitHubDTOProtobufHttpMessageConverter.APPLICATION_PROTOBUF);
+
     private final GitHubService gitHubService;
+    private final WatchlistService watchlistService;
+    private final ChangeFeedService changeFeedService;
+    @Value("${github.tracing.response-headers.enabled:false}")
+    private boolean upstreamCallHeadersEnabled;
 
     @GetMapping("/github/repositories")
     public ResponseEntity<List<GitHubDTO>> getGitHubRepositories(
@@ -24,14 +45,68 @@ public class GitHubTaskController {
             @RequestHeader("Accept") String acceptHeader
     ) {
 
-        if (!acceptHeader.equals("application/json")) {
+        if (!isAcceptable(acceptHeader)) {
             throw new BadHeaderException(HttpStatus.NOT_FOUND.value(), "INVALID ACCEPT HEADER");
         }
 
+        UpstreamCallStats upstreamCallStats = UpstreamCallTracker.start();
+        try {
+            List<GitHubDTO> repositories = watchlistService.getCachedRepositories(username)
+                    .orElseGet(() -> fetchRepositories(username));
+
+            return ResponseEntity.ok()
+                    .headers(upstreamCallHeaders(upstreamCallStats))
+                    .body(repositories);
+        } finally {
+            UpstreamCallTracker.stop();
+        }
+    }
+
+    /**
+     * Returns the branches created, deleted or moved since the given cursor. Watched accounts are kept up to date
+     * by the watchlist crawler, other accounts are fetched at most once per minimum refresh interval.
+     */
+    @GetMapping("/github/changes")
+    public ResponseEntity<ChangeFeedDTO> getBranchChanges(
+            @RequestParam String username,
+            @RequestParam(required = false) String since
+    ) {
+        if (!watchlistService.isWatched(username) && changeFeedService.isRefreshDue(username)) {
+            fetchRepositories(username);
+        }
+
+        return ResponseEntity.ok(changeFeedService.getChanges(username, since));
+    }
+
+    /**
+     * Checks that the client accepts at least one supported media type; the message converters then choose the format
+     * by the quality values and order of the {@code Accept} header.
+     */
+    private static boolean isAcceptable(String acceptHeader) {
+        try {
+            return MediaType.parseMediaTypes(acceptHeader).stream()
+                    .filter(accepted -> accepted.getQualityValue() > 0)
+                    .anyMatch(accepted -> SUPPORTED_MEDIA_TYPES.stream().anyMatch(accepted::isCompatibleWith));
+        } catch (InvalidMediaTypeException ex) {
+            return false;
+        }
+    }
+
+    private HttpHeaders upstreamCallHeaders(UpstreamCallStats upstreamCallStats) {
+        HttpHeaders headers = new HttpHeaders();
+        if (upstreamCallHeadersEnabled) {
+            headers.add("X-Upstream-Calls", upstreamCallStats.toUpstreamCallsHeader());
+            headers.add("Server-Timing", upstreamCallStats.toServerTimingHeader());
+        }
+        return headers;
+    }
+
+    private List<GitHubDTO> fetchRepositories(String username) {
+        Instant fetchStartedAt = Instant.now();
         GitHubUserModel gitHubUserModel = gitHubService.validateUsername(username).orElseThrow(() -> new UserNotFoundException(HttpStatus.NOT_FOUND.value(), "USER NOT FOUND"));
         List<GitHubDTO> repositories = gitHubService.getDTOs(gitHubUserModel.getLogin());
-
-        return ResponseEntity.ok(repositories);
+        changeFeedService.recordSnapshot(username, repositories, fetchStartedAt);
+        return repositories;
     }
 
 
@@ -0,0 +1,21 @@
+package com.github.odyn666.atiperaRecrutationTask.controller;
+
+import com.github.odyn666.atiperaRecrutationTask.dto.WatchlistStatusDTO;
+import com.github.odyn666.atiperaRecrutationTask.service.WatchlistService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api")
+public class WatchlistController {
+    private final WatchlistService watchlistService;
+
+    @GetMapping("/github/watchlist")
+    public ResponseEntity<WatchlistStatusDTO> getWatchlistStatus() {
+        return ResponseEntity.ok(watchlistService.getStatus());
+    }
+}
@@ -0,0 +1,14 @@
+package com.github.odyn666.atiperaRecrutationTask.dto;
+
+import lombok.Builder;
+
+import java.time.Instant;
+
+@Builder
+public record BranchChangeEventDTO(BranchChangeType type,
+         String repositoryName,
+         String branchName,
+         String previousSha,
+         String sha,
+         Instant detectedAt) {
+}
@@ -0,0 +1,7 @@
+package com.github.odyn666.atiperaRecrutationTask.dto;
+
+public enum BranchChangeType {
+    CREATED,
+    DELETED,
+    HEAD_MOVED
+}
@@ -0,0 +1,12 @@
+package com.github.odyn666.atiperaRecrutationTask.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record ChangeFeedDTO(String username,
+         String cursor,
+         boolean resyncRequired,
+         List<BranchChangeEventDTO> changes) {
+}
@@ -0,0 +1,12 @@
+package com.github.odyn666.atiperaRecrutationTask.dto;
+
+import lombok.Builder;
+
+@Builder
+public record RepositoryCacheStatsDTO(int accounts,
+         int repositories,
+         int branches,
+         int internedStrings,
+         long heapBytesPerRepository,
+         long uncompactedHeapBytesPerRepository) {
+}
@@ -0,0 +1,14 @@
+package com.github.odyn666.atiperaRecrutationTask.dto;
+
+import lombok.Builder;
+
+import java.time.Instant;
+
+@Builder
+public record WatchedAccountDTO(String username,
+         long requestCount,
+         Instant lastRefreshed,
+         Long ageSeconds,
+         int repositoryCount,
+         String lastError) {
+}
@@ -0,0 +1,17 @@
+package com.github.odyn666.atiperaRecrutationTask.dto;
+
+import lombok.Builder;
+
+import java.time.Instant;
+import java.util.List;
+
+@Builder
+public record WatchlistStatusDTO(boolean crawlInProgress,
+         Instant lastCrawlStarted,
+         Instant lastCrawlFinished,
+         int accountsRefreshedInLastCrawl,
+         long upstreamCallsInLastCrawl,
+         long callBudgetPerCrawl,
+         RepositoryCacheStatsDTO cache,
+         List<WatchedAccountDTO> accounts) {
+}
@@ -0,0 +1,16 @@
+package com.github.odyn666.atiperaRecrutationTask.exception;
+
+import lombok.Getter;
+
+@Getter
+public class InvalidCursorException extends RuntimeException {
+    private final int status;
+    private final String message;
+
+    public InvalidCursorException(int status, String message) {
+        super(message);
+        this.status = status;
+        this.message = message;
+    }
+
+}
@@ -1,11 +1,17 @@
 package com.github.odyn666.atiperaRecrutationTask.model;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.github.odyn666.atiperaRecrutationTask.serialization.ShaDeserializer;
+import com.github.odyn666.atiperaRecrutationTask.serialization.ShaSerializer;
 import lombok.*;
 
 @Getter
 @Setter
 
 public class CommitModel {
+    @JsonSerialize(using = ShaSerializer.class)
+    @JsonDeserialize(using = ShaDeserializer.class)
     String sha;
 
 
@@ -1,5 +1,6 @@
 package com.github.odyn666.atiperaRecrutationTask.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
 
 @Getter
@@ -8,6 +9,8 @@ import lombok.*;
 
 public class GitHubUserModel {
     public String login;
+    @JsonProperty("public_repos")
+    Integer publicRepos;
 
 
 
@@ -0,0 +1,194 @@
+package com.github.odyn666.atiperaRecrutationTask.serialization;
+
+import com.github.odyn666.atiperaRecrutationTask.dto.ErrorResponse;
+import com.github.odyn666.atiperaRecrutationTask.dto.GitHubDTO;
+import com.github.odyn666.atiperaRecrutationTask.model.BranchModel;
+import com.github.odyn666.atiperaRecrutationTask.model.CommitModel;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Writes lists of {@link GitHubDTO} and {@link ErrorResponse} in the Protobuf wire format described by
+ * {@code src/main/proto/github.proto}. The messages are encoded directly with {@link CodedOutputStream} in a single
+ * pass, computing the length of every nested message up front, so no generated classes are needed.
+ */
+public class GitHubDTOProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+    public static final String APPLICATION_PROTOBUF_VALUE = "application/x-protobuf";
+
+    private static final int REPOSITORIES_REPOSITORY = 1;
+    private static final int REPOSITORY_NAME = 1;
+    private static final int REPOSITORY_OWNER_LOGIN = 2;
+    private static final int REPOSITORY_BRANCH = 3;
+    private static final int BRANCH_NAME = 1;
+    private static final int BRANCH_COMMIT = 2;
+    private static final int COMMIT_SHA = 1;
+    private static final int ERROR_STATUS = 1;
+    private static final int ERROR_MESSAGE = 2;
+
+    private static final int SHA_BYTES = ShaCodec.SHA_LENGTH / 2;
+    private static final int COMMIT_SIZE = CodedOutputStream.computeTagSize(COMMIT_SHA)
+            + CodedOutputStream.computeUInt32SizeNoTag(SHA_BYTES) + SHA_BYTES;
+
+    public GitHubDTOProtobufHttpMessageConverter() {
+        super(APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz) || ErrorResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return isSupportedType(type != null ? type : clazz) && canWrite(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return ErrorResponse.class.isAssignableFrom(clazz) && canWrite(mediaType);
+    }
+
+    /**
+     * Spring MVC collects the producible media types by the raw class of the body, so lists have to report
+     * Protobuf here; whether the element type is supported is checked by {@link #canWrite(Type, Class, MediaType)}.
+     */
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return supports(clazz) ? getSupportedMediaTypes() : List.of();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        CodedOutputStream output = CodedOutputStream.newInstance(outputMessage.getBody());
+        if (body instanceof ErrorResponse errorResponse) {
+            writeErrorResponse(output, errorResponse);
+        } else {
+            writeRepositories(output, (List<GitHubDTO>) body);
+        }
+        output.flush();
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading Protobuf requests is not supported", inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading Protobuf requests is not supported", inputMessage);
+    }
+
+    private static boolean isSupportedType(Type type) {
+        ResolvableType resolvableType = ResolvableType.forType(type);
+        Class<?> clazz = resolvableType.toClass();
+        if (ErrorResponse.class.isAssignableFrom(clazz)) {
+            return true;
+        }
+        return List.class.isAssignableFrom(clazz)
+                && GitHubDTO.class.isAssignableFrom(resolvableType.getGeneric(0).toClass());
+    }
+
+    private static void writeErrorResponse(CodedOutputStream output, ErrorResponse errorResponse) throws IOException {
+        output.writeInt32(ERROR_STATUS, errorResponse.status());
+        writeString(output, ERROR_MESSAGE, errorResponse.message());
+    }
+
+    private static void writeRepositories(CodedOutputStream output, List<GitHubDTO> repositories) throws IOException {
+        int[] branchSizes = new int[0];
+        for (GitHubDTO repository : repositories) {
+            List<BranchModel> branches = repository.branch() != null ? repository.branch() : List.of();
+            if (branchSizes.length < branches.size()) {
+                branchSizes = new int[branches.size()];
+            }
+            int repositorySize = stringSize(REPOSITORY_NAME, repository.RepositoryName())
+                    + stringSize(REPOSITORY_OWNER_LOGIN, repository.ownerLogin());
+            for (int b = 0; b < branches.size(); b++) {
+                branchSizes[b] = branchSize(branches.get(b));
+                repositorySize += messageSize(REPOSITORY_BRANCH, branchSizes[b]);
+            }
+
+            writeMessageHeader(output, REPOSITORIES_REPOSITORY, repositorySize);
+            writeString(output, REPOSITORY_NAME, repository.RepositoryName());
+            writeString(output, REPOSITORY_OWNER_LOGIN, repository.ownerLogin());
+            for (int b = 0; b < branches.size(); b++) {
+                writeMessageHeader(output, REPOSITORY_BRANCH, branchSizes[b]);
+                writeBranch(output, branches.get(b));
+            }
+        }
+    }
+
+    private static int branchSize(BranchModel branch) {
+        int size = stringSize(BRANCH_NAME, branch.getName());
+        if (branch.getCommit() != null) {
+            size += messageSize(BRANCH_COMMIT, commitSize(branch.getCommit()));
+        }
+        return size;
+    }
+
+    private static void writeBranch(CodedOutputStream output, BranchModel branch) throws IOException {
+        writeString(output, BRANCH_NAME, branch.getName());
+        CommitModel commit = branch.getCommit();
+        if (commit != null) {
+            writeMessageHeader(output, BRANCH_COMMIT, commitSize(commit));
+            if (ShaCodec.isSha(commit.getSha())) {
+                writeSha(output, commit.getSha());
+            }
+        }
+    }
+
+    private static int commitSize(CommitModel commit) {
+        return ShaCodec.isSha(commit.getSha()) ? COMMIT_SIZE : 0;
+    }
+
+    /**
+     * Writes the SHA as 20 raw bytes without decoding it into an intermediate array.
+     */
+    private static void writeSha(CodedOutputStream output, String sha) throws IOException {
+        output.writeTag(COMMIT_SHA, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        output.writeUInt32NoTag(SHA_BYTES);
+        for (int i = 0; i < ShaCodec.SHA_LENGTH; i += 2) {
+            output.write((byte) (Character.digit(sha.charAt(i), 16) << 4 | Character.digit(sha.charAt(i + 1), 16)));
+        }
+    }
+
+    private static int messageSize(int fieldNumber, int size) {
+        return CodedOutputStream.computeTagSize(fieldNumber) + CodedOutputStream.computeUInt32SizeNoTag(size) + size;
+    }
+
+    private static void writeMessageHeader(CodedOutputStream output, int fieldNumber, int size) throws IOException {
+        output.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        output.writeUInt32NoTag(size);
+    }
+
+    private static int stringSize(int fieldNumber, String value) {
+        return value != null ? CodedOutputStream.computeStringSize(fieldNumber, value) : 0;
+    }
+
+    private static void writeString(CodedOutputStream output, int fieldNumber, String value) throws IOException {
+        if (value != null) {
+            output.writeString(fieldNumber, value);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.github.odyn666.atiperaRecrutationTask.serialization;
+
+import java.util.HexFormat;
+
+/**
+ * Converts 40-character hexadecimal commit SHAs to their 20 raw bytes and back.
+ */
+public final class ShaCodec {
+    public static final int SHA_LENGTH = 40;
+    private static final HexFormat HEX = HexFormat.of();
+
+    private ShaCodec() {
+    }
+
+    /**
+     * @param sha The value to check.
+     * @return {@code true} if the value is a 40-character lowercase hexadecimal SHA.
+     */
+    public static boolean isSha(String sha) {
+        if (sha == null || sha.length() != SHA_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < SHA_LENGTH; i++) {
+            char c = sha.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static byte[] toBytes(String sha) {
+        return HEX.parseHex(sha);
+    }
+
+    public static String toHex(byte[] sha) {
+        return HEX.formatHex(sha);
+    }
+}
@@ -0,0 +1,26 @@
+package com.github.odyn666.atiperaRecrutationTask.serialization;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Reads commit SHAs written by {@link ShaSerializer}, either as text or as 20 raw bytes.
+ */
+public class ShaDeserializer extends StdDeserializer<String> {
+
+    public ShaDeserializer() {
+        super(String.class);
+    }
+
+    @Override
+    public String deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_EMBEDDED_OBJECT) {
+            return ShaCodec.toHex(parser.getBinaryValue());
+        }
+        return parser.getValueAsString();
+    }
+}
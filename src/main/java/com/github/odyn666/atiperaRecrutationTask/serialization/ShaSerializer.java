@@ -0,0 +1,26 @@
+package com.github.odyn666.atiperaRecrutationTask.serialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes commit SHAs as 20 raw bytes to binary formats such as CBOR and Smile, and as text to JSON.
+ */
+public class ShaSerializer extends StdSerializer<String> {
+
+    public ShaSerializer() {
+        super(String.class);
+    }
+
+    @Override
+    public void serialize(String sha, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        if (generator.canWriteBinaryNatively() && ShaCodec.isSha(sha)) {
+            generator.writeBinary(ShaCodec.toBytes(sha));
+        } else {
+            generator.writeString(sha);
+        }
+    }
+}
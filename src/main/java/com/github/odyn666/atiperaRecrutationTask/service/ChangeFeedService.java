@@ -0,0 +1,213 @@
+package com.github.odyn666.atiperaRecrutationTask.service;
+
+import com.github.odyn666.atiperaRecrutationTask.dto.BranchChangeEventDTO;
+import com.github.odyn666.atiperaRecrutationTask.dto.BranchChangeType;
+import com.github.odyn666.atiperaRecrutationTask.dto.ChangeFeedDTO;
+import com.github.odyn666.atiperaRecrutationTask.dto.GitHubDTO;
+import com.github.odyn666.atiperaRecrutationTask.exception.InvalidCursorException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class ChangeFeedService {
+    private static final char CURSOR_SEPARATOR = '-';
+
+    @Value("${github.changes.max-events-per-user:1000}")
+    private int maxEventsPerUser;
+    @Value("${github.changes.max-users:10000}")
+    private int maxUsers;
+    @Value("${github.changes.min-refresh-interval-ms:60000}")
+    private long minRefreshIntervalMs;
+
+    private final RepositoryCache repositoryCache;
+    private Map<String, ChangeLog> changeLogs;
+
+    /**
+     * Keeps the change logs of the most recently used users only.
+     */
+    @PostConstruct
+    void createChangeLogs() {
+        changeLogs = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ChangeLog> eldest) {
+                return size() > maxUsers;
+            }
+        });
+    }
+
+    /**
+     * Compares the repositories of the specified user with the previous snapshot and appends a change event
+     * for every branch that was created, deleted or whose head SHA changed. The first snapshot of a user
+     * only becomes the baseline. Concurrent fetches of the same user may finish in any order, so a snapshot whose
+     * fetch started before the current one is ignored instead of reporting its older heads as moved.
+     *
+     * @param username       The username of the GitHub user.
+     * @param repositories   The repositories fetched from the GitHub API.
+     * @param fetchStartedAt The time the fetch of the repositories started.
+     */
+    public void recordSnapshot(String username, List<GitHubDTO> repositories, Instant fetchStartedAt) {
+        recordSnapshot(username, repositoryCache.compact(repositories), fetchStartedAt);
+    }
+
+    /**
+     * Same as {@link #recordSnapshot(String, List, Instant)} for repositories that are already in compact form,
+     * e.g. just stored in the {@link RepositoryCache}, so that the snapshot shares them.
+     *
+     * @param username       The username of the GitHub user.
+     * @param snapshot       The repositories fetched from the GitHub API, in compact form.
+     * @param fetchStartedAt The time the fetch of the repositories started.
+     */
+    public void recordSnapshot(String username, RepositoryCache.CachedRepositories snapshot, Instant fetchStartedAt) {
+        ChangeLog changeLog = changeLog(username);
+        synchronized (changeLog) {
+            if (changeLog.snapshotAt != null && fetchStartedAt.isBefore(changeLog.snapshotAt)) {
+                return;
+            }
+            if (changeLog.snapshot != null) {
+                Instant detectedAt = Instant.now();
+                snapshot.forEachChangedBranch(changeLog.snapshot, (type, repository, branch, previousSha, sha) ->
+                        append(changeLog, type, repository, branch, previousSha, sha, detectedAt));
+            }
+            changeLog.snapshot = snapshot;
+            changeLog.snapshotAt = fetchStartedAt;
+        }
+    }
+
+    /**
+     * @param username The username of the GitHub user.
+     * @return {@code true} if the user has no snapshot yet, or the last one is older than the minimum refresh interval.
+     */
+    public boolean isRefreshDue(String username) {
+        ChangeLog changeLog = changeLogs.get(key(username));
+        if (changeLog == null) {
+            return true;
+        }
+        synchronized (changeLog) {
+            return changeLog.snapshotAt == null
+                    || changeLog.snapshotAt.plusMillis(minRefreshIntervalMs).isBefore(Instant.now());
+        }
+    }
+
+    /**
+     * Returns the branch changes of the specified user recorded after the given cursor.
+     * If the cursor was issued before a restart, or the changes after it were already dropped from the bounded log,
+     * the response asks the client to resynchronize with the repositories endpoint.
+     *
+     * @param username The username of the GitHub user.
+     * @param since    The cursor returned by a previous call, or {@code null} to read every retained change.
+     * @return A {@link ChangeFeedDTO} with the changes and the cursor to resume from.
+     * @throws InvalidCursorException If the cursor is malformed.
+     */
+    public ChangeFeedDTO getChanges(String username, String since) {
+        Cursor cursor = since == null ? null : Cursor.parse(since);
+        ChangeLog changeLog = changeLog(username);
+        synchronized (changeLog) {
+            long from = 0;
+            boolean resyncRequired;
+            if (cursor == null) {
+                resyncRequired = changeLog.droppedUpTo > 0;
+            } else if (cursor.epoch != changeLog.epoch || cursor.sequence > changeLog.sequence) {
+                resyncRequired = true;
+            } else {
+                from = cursor.sequence;
+                resyncRequired = from < changeLog.droppedUpTo;
+            }
+
+            long start = from;
+            List<BranchChangeEventDTO> changes = changeLog.events.stream()
+                    .filter(event -> event.sequence > start)
+                    .map(SequencedEvent::event)
+                    .toList();
+
+            return ChangeFeedDTO.builder()
+                    .username(username)
+                    .cursor(new Cursor(changeLog.epoch, changeLog.sequence).format())
+                    .resyncRequired(resyncRequired)
+                    .changes(changes)
+                    .build();
+        }
+    }
+
+    private ChangeLog changeLog(String username) {
+        return changeLogs.computeIfAbsent(key(username), key -> new ChangeLog(System.currentTimeMillis()));
+    }
+
+    private void append(ChangeLog changeLog, BranchChangeType type, String repository, String branch,
+                        String previousSha, String sha, Instant detectedAt) {
+        BranchChangeEventDTO event = BranchChangeEventDTO.builder()
+                .type(type)
+                .repositoryName(repository)
+                .branchName(branch)
+                .previousSha(previousSha)
+                .sha(sha)
+                .detectedAt(detectedAt)
+                .build();
+        changeLog.events.addLast(new SequencedEvent(++changeLog.sequence, event));
+        while (changeLog.events.size() > maxEventsPerUser) {
+            changeLog.droppedUpTo = changeLog.events.removeFirst().sequence;
+        }
+    }
+
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class ChangeLog {
+        private final long epoch;
+        private final ArrayDeque<SequencedEvent> events = new ArrayDeque<>();
+        private long sequence;
+        private long droppedUpTo;
+        /**
+         * The last repositories of the user in the compact form of the {@link RepositoryCache}.
+         */
+        private RepositoryCache.CachedRepositories snapshot;
+        private Instant snapshotAt;
+
+        private ChangeLog(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+
+    private record SequencedEvent(long sequence, BranchChangeEventDTO event) {
+    }
+
+    /**
+     * Position in the change log of a user, formatted as {@code <epoch>-<sequence>} in base 36.
+     * The epoch identifies the change log, so cursors issued before a restart or an eviction are recognized.
+     */
+    private record Cursor(long epoch, long sequence) {
+
+        private String format() {
+            return Long.toString(epoch, Character.MAX_RADIX) + CURSOR_SEPARATOR + Long.toString(sequence, Character.MAX_RADIX);
+        }
+
+        private static Cursor parse(String cursor) {
+            int separator = cursor.indexOf(CURSOR_SEPARATOR);
+            try {
+                if (separator < 0) {
+                    throw new NumberFormatException(cursor);
+                }
+                long epoch = Long.parseLong(cursor, 0, separator, Character.MAX_RADIX);
+                long sequence = Long.parseLong(cursor, separator + 1, cursor.length(), Character.MAX_RADIX);
+                if (epoch < 0 || sequence < 0) {
+                    throw new NumberFormatException(cursor);
+                }
+                return new Cursor(epoch, sequence);
+            } catch (NumberFormatException ex) {
+                throw new InvalidCursorException(HttpStatus.BAD_REQUEST.value(), "INVALID CURSOR");
+            }
+        }
+    }
+}
@@ -6,9 +6,12 @@ import com.github.odyn666.atiperaRecrutationTask.exception.UserNotFoundException
 import com.github.odyn666.atiperaRecrutationTask.model.BranchModel;
 import com.github.odyn666.atiperaRecrutationTask.model.GitHubRepositoryModel;
 import com.github.odyn666.atiperaRecrutationTask.model.GitHubUserModel;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
@@ -23,17 +26,55 @@ import java.util.Optional;
 @Getter
 @Setter
 public class GitHubService {
+    /**
+     * Default page size of the GitHub API. Only the first page of repositories is fetched, so listing the
+     * repositories of a user is followed by at most this many branch lookups.
+     */
+    public static final int REPOSITORIES_PER_PAGE = 30;
+
     @Value("${github.api.url.users}")
     private String githubUsersApiUrl;
     @Value("${github.api.url.repos}")
     private String githubReposApiUrl;
-    private RestTemplate restTemplate = new RestTemplate();
+    private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+    private RestTemplate restTemplate = instrument(new RestTemplate());
+
+    /**
+     * Replaces the {@link RestTemplate} and instruments it like the default one.
+     *
+     * @param restTemplate The {@link RestTemplate} used to call the GitHub API.
+     */
+    public void setRestTemplate(RestTemplate restTemplate) {
+        this.restTemplate = instrument(restTemplate);
+    }
+
+    /**
+     * Sets the registry that observes the calls to the GitHub API, including those of the current {@link RestTemplate}.
+     *
+     * @param observationRegistry The {@link ObservationRegistry} of the application, if tracing is available.
+     */
+    @Autowired(required = false)
+    public void setObservationRegistry(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+        restTemplate.setObservationRegistry(observationRegistry);
+    }
 
+    /**
+     * Instruments the {@link RestTemplate}, so that every call to the GitHub API gets its own span, tagged with the
+     * URI template rather than the expanded URI, and is counted by the {@link UpstreamCallTracker}.
+     */
+    private RestTemplate instrument(RestTemplate restTemplate) {
+        restTemplate.setObservationRegistry(observationRegistry);
+        if (restTemplate.getInterceptors().stream().noneMatch(UpstreamCallInterceptor.class::isInstance)) {
+            restTemplate.getInterceptors().add(new UpstreamCallInterceptor());
+        }
+        return restTemplate;
+    }
 
     public Optional<GitHubUserModel> validateUsername(String username) {
-        String url = githubUsersApiUrl + username;
+        String url = githubUsersApiUrl + "{username}";
 
-        return Optional.ofNullable(restTemplate.getForObject(url, GitHubUserModel.class));
+        return Optional.ofNullable(restTemplate.getForObject(url, GitHubUserModel.class, username));
 
     }
 
@@ -44,9 +85,15 @@ public class GitHubService {
      * @return A list of {@link GitHubDTO} objects representing the user's repositories, along with their branches.
      */
     public List<GitHubDTO> getDTOs(String username) {
+        return Observation.createNotStarted("github.repositories", observationRegistry)
+                .contextualName("getDTOs")
+                .highCardinalityKeyValue("github.user", String.valueOf(username))
+                .observe(() -> fetchDTOs(username));
+    }
 
-        String url = githubUsersApiUrl + username + "/repos?type=all";
-        GitHubRepositoryModel[] repositories = restTemplate.getForObject(url, GitHubRepositoryModel[].class);
+    private List<GitHubDTO> fetchDTOs(String username) {
+        String url = githubUsersApiUrl + "{username}/repos?type=all";
+        GitHubRepositoryModel[] repositories = restTemplate.getForObject(url, GitHubRepositoryModel[].class, username);
         if (repositories != null) {
             return Arrays.stream(repositories)
                     .filter(repository -> repository.getOwner().getLogin().equals(username))
@@ -83,8 +130,15 @@ public class GitHubService {
      * If no branches are found, an empty list is returned.
      */
     public List<BranchModel> getBranches(String owner, String repoName) {
-        String url = githubReposApiUrl + owner + "/" + repoName + "/branches";
-        BranchModel[] branches = restTemplate.getForObject(url, BranchModel[].class);
+        return Observation.createNotStarted("github.branches", observationRegistry)
+                .contextualName("getBranches")
+                .highCardinalityKeyValue("github.repository", owner + "/" + repoName)
+                .observe(() -> fetchBranches(owner, repoName));
+    }
+
+    private List<BranchModel> fetchBranches(String owner, String repoName) {
+        String url = githubReposApiUrl + "{owner}/{repo}/branches";
+        BranchModel[] branches = restTemplate.getForObject(url, BranchModel[].class, owner, repoName);
         if (branches != null) {
             return Arrays.asList(branches);
         }
@@ -0,0 +1,348 @@
+package com.github.odyn666.atiperaRecrutationTask.service;
+
+import com.github.odyn666.atiperaRecrutationTask.dto.BranchChangeType;
+import com.github.odyn666.atiperaRecrutationTask.dto.GitHubDTO;
+import com.github.odyn666.atiperaRecrutationTask.dto.RepositoryCacheStatsDTO;
+import com.github.odyn666.atiperaRecrutationTask.model.BranchModel;
+import com.github.odyn666.atiperaRecrutationTask.model.CommitModel;
+import com.github.odyn666.atiperaRecrutationTask.serialization.ShaCodec;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class RepositoryCache {
+    private static final int MAX_INTERNED_STRINGS = 100_000;
+
+    private final Map<String, CachedRepositories> entries = new ConcurrentHashMap<>();
+    private final StringInterner interner = new StringInterner(MAX_INTERNED_STRINGS);
+
+    /**
+     * Returns the cached repositories of the specified GitHub user.
+     *
+     * @param username The username of the GitHub user, matched case-insensitively.
+     * @return The cached repositories, or an empty {@link Optional} if the user has not been cached yet.
+     */
+    public Optional<CachedRepositories> get(String username) {
+        return Optional.ofNullable(entries.get(key(username)));
+    }
+
+    /**
+     * Stores the repositories of the specified GitHub user, replacing any previously cached value.
+     * The repositories are kept in the compact form of {@link CachedRepositories}.
+     *
+     * @param username     The username of the GitHub user.
+     * @param repositories The repositories fetched from the GitHub API.
+     * @return The cached repositories.
+     */
+    public CachedRepositories put(String username, List<GitHubDTO> repositories) {
+        CachedRepositories cached = compact(repositories);
+        entries.put(key(username), cached);
+        return cached;
+    }
+
+    /**
+     * Converts the repositories to the compact form of {@link CachedRepositories} without caching them,
+     * interning their strings together with the cached ones.
+     *
+     * @param repositories The repositories fetched from the GitHub API.
+     * @return The repositories in compact form.
+     */
+    public CachedRepositories compact(List<GitHubDTO> repositories) {
+        return new CachedRepositories(repositories, interner, Instant.now());
+    }
+
+    /**
+     * Reports the estimated heap used by the cache, compared with keeping the {@link GitHubDTO} objects themselves.
+     * Strings shared through interning are not attributed to any repository.
+     *
+     * @return A {@link RepositoryCacheStatsDTO} describing the cached data.
+     */
+    public RepositoryCacheStatsDTO getStats() {
+        int repositories = 0;
+        int branches = 0;
+        long heapBytes = 0;
+        long uncompactedHeapBytes = 0;
+        for (CachedRepositories entry : entries.values()) {
+            repositories += entry.repositoryNames.length;
+            branches += entry.branchNames.length;
+            heapBytes += entry.heapBytes;
+            uncompactedHeapBytes += entry.uncompactedHeapBytes;
+        }
+        return RepositoryCacheStatsDTO.builder()
+                .accounts(entries.size())
+                .repositories(repositories)
+                .branches(branches)
+                .internedStrings(interner.size())
+                .heapBytesPerRepository(repositories == 0 ? 0 : heapBytes / repositories)
+                .uncompactedHeapBytesPerRepository(repositories == 0 ? 0 : uncompactedHeapBytes / repositories)
+                .build();
+    }
+
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Repositories of one account stored as flat arrays: owner logins and branch names are interned and every
+     * 40-character SHA is packed into two longs and an int. {@link GitHubDTO} objects are rebuilt on every read.
+     */
+    public static final class CachedRepositories {
+        private static final HexFormat HEX = HexFormat.of();
+
+        private final Instant fetchedAt;
+        private final String[] repositoryNames;
+        private final String[] ownerLogins;
+        private final int[] branchOffsets;
+        private final String[] branchNames;
+        private final long[] shaWords;
+        private final int[] shaTails;
+        /**
+         * Branches without a commit, allocated only when such a branch exists.
+         */
+        private final BitSet missingCommits;
+        /**
+         * SHAs that are not 40-character hexadecimal strings, by branch index, allocated only when such a SHA exists.
+         */
+        private final Map<Integer, String> irregularShas;
+        private final long heapBytes;
+        private final long uncompactedHeapBytes;
+
+        private CachedRepositories(List<GitHubDTO> repositories, StringInterner interner, Instant fetchedAt) {
+            this.fetchedAt = fetchedAt;
+            int repositoryCount = repositories.size();
+            int branchCount = repositories.stream().mapToInt(repository -> branchesOf(repository).size()).sum();
+            repositoryNames = new String[repositoryCount];
+            ownerLogins = new String[repositoryCount];
+            branchOffsets = new int[repositoryCount + 1];
+            branchNames = new String[branchCount];
+            shaWords = new long[branchCount * 2];
+            shaTails = new int[branchCount];
+            BitSet missing = null;
+            Map<Integer, String> irregular = null;
+
+            int branchIndex = 0;
+            for (int r = 0; r < repositoryCount; r++) {
+                GitHubDTO repository = repositories.get(r);
+                repositoryNames[r] = repository.RepositoryName();
+                ownerLogins[r] = interner.intern(repository.ownerLogin());
+                branchOffsets[r] = branchIndex;
+                for (BranchModel branch : branchesOf(repository)) {
+                    branchNames[branchIndex] = interner.intern(branch.getName());
+                    CommitModel commit = branch.getCommit();
+                    if (commit == null) {
+                        missing = missing != null ? missing : new BitSet(branchCount);
+                        missing.set(branchIndex);
+                    } else if (ShaCodec.isSha(commit.getSha())) {
+                        String sha = commit.getSha();
+                        shaWords[branchIndex * 2] = HexFormat.fromHexDigitsToLong(sha, 0, 16);
+                        shaWords[branchIndex * 2 + 1] = HexFormat.fromHexDigitsToLong(sha, 16, 32);
+                        shaTails[branchIndex] = HexFormat.fromHexDigits(sha, 32, 40);
+                    } else {
+                        irregular = irregular != null ? irregular : new HashMap<>();
+                        irregular.put(branchIndex, commit.getSha());
+                    }
+                    branchIndex++;
+                }
+            }
+            branchOffsets[repositoryCount] = branchIndex;
+            missingCommits = missing;
+            irregularShas = irregular;
+            heapBytes = HeapEstimate.ofCompact(this);
+            uncompactedHeapBytes = HeapEstimate.ofDTOs(repositories);
+        }
+
+        public Instant fetchedAt() {
+            return fetchedAt;
+        }
+
+        /**
+         * Rebuilds the cached repositories.
+         *
+         * @return A new list of {@link GitHubDTO} objects equal to the list that was cached.
+         */
+        public List<GitHubDTO> repositories() {
+            List<GitHubDTO> repositories = new ArrayList<>(repositoryNames.length);
+            for (int r = 0; r < repositoryNames.length; r++) {
+                List<BranchModel> branches = new ArrayList<>(branchOffsets[r + 1] - branchOffsets[r]);
+                for (int b = branchOffsets[r]; b < branchOffsets[r + 1]; b++) {
+                    BranchModel branch = new BranchModel();
+                    branch.setName(branchNames[b]);
+                    branch.setCommit(commitAt(b));
+                    branches.add(branch);
+                }
+                repositories.add(GitHubDTO.builder()
+                        .RepositoryName(repositoryNames[r])
+                        .ownerLogin(ownerLogins[r])
+                        .branch(branches)
+                        .build());
+            }
+            return repositories;
+        }
+
+        /**
+         * Reports every branch that was created, deleted or whose head SHA changed since the previous repositories.
+         * SHAs are compared in their packed form and only converted to text for the reported branches.
+         *
+         * @param previous The repositories of the same account fetched earlier.
+         * @param consumer Receives the change type, repository name, branch name, previous SHA and current SHA.
+         */
+        public void forEachChangedBranch(CachedRepositories previous, BranchChangeConsumer consumer) {
+            Map<String, Integer> previousRepositories = previous.indexRepositories();
+            for (int r = 0; r < repositoryNames.length; r++) {
+                Integer p = previousRepositories.get(repositoryNames[r]);
+                for (int b = branchOffsets[r]; b < branchOffsets[r + 1]; b++) {
+                    int pb = p == null ? -1 : previous.findBranch(p, branchNames[b]);
+                    if (pb < 0) {
+                        consumer.accept(BranchChangeType.CREATED, repositoryNames[r], branchNames[b], null, shaAt(b));
+                    } else if (!sameSha(b, previous, pb)) {
+                        consumer.accept(BranchChangeType.HEAD_MOVED, repositoryNames[r], branchNames[b], previous.shaAt(pb), shaAt(b));
+                    }
+                }
+            }
+            Map<String, Integer> currentRepositories = indexRepositories();
+            for (int p = 0; p < previous.repositoryNames.length; p++) {
+                Integer r = currentRepositories.get(previous.repositoryNames[p]);
+                for (int pb = previous.branchOffsets[p]; pb < previous.branchOffsets[p + 1]; pb++) {
+                    if (r == null || findBranch(r, previous.branchNames[pb]) < 0) {
+                        consumer.accept(BranchChangeType.DELETED, previous.repositoryNames[p], previous.branchNames[pb], previous.shaAt(pb), null);
+                    }
+                }
+            }
+        }
+
+        private Map<String, Integer> indexRepositories() {
+            Map<String, Integer> index = new HashMap<>(repositoryNames.length * 2);
+            for (int r = 0; r < repositoryNames.length; r++) {
+                index.put(repositoryNames[r], r);
+            }
+            return index;
+        }
+
+        private int findBranch(int repositoryIndex, String branchName) {
+            for (int b = branchOffsets[repositoryIndex]; b < branchOffsets[repositoryIndex + 1]; b++) {
+                if (Objects.equals(branchNames[b], branchName)) {
+                    return b;
+                }
+            }
+            return -1;
+        }
+
+        private boolean sameSha(int branchIndex, CachedRepositories other, int otherBranchIndex) {
+            boolean missing = missingCommits != null && missingCommits.get(branchIndex);
+            boolean otherMissing = other.missingCommits != null && other.missingCommits.get(otherBranchIndex);
+            String irregular = irregularShas != null ? irregularShas.get(branchIndex) : null;
+            String otherIrregular = other.irregularShas != null ? other.irregularShas.get(otherBranchIndex) : null;
+            if (missing || otherMissing || irregular != null || otherIrregular != null) {
+                return missing == otherMissing && Objects.equals(irregular, otherIrregular);
+            }
+            return shaWords[branchIndex * 2] == other.shaWords[otherBranchIndex * 2]
+                    && shaWords[branchIndex * 2 + 1] == other.shaWords[otherBranchIndex * 2 + 1]
+                    && shaTails[branchIndex] == other.shaTails[otherBranchIndex];
+        }
+
+        private String shaAt(int branchIndex) {
+            CommitModel commit = commitAt(branchIndex);
+            return commit != null ? commit.getSha() : null;
+        }
+
+        private CommitModel commitAt(int branchIndex) {
+            if (missingCommits != null && missingCommits.get(branchIndex)) {
+                return null;
+            }
+            CommitModel commit = new CommitModel();
+            if (irregularShas != null && irregularShas.containsKey(branchIndex)) {
+                commit.setSha(irregularShas.get(branchIndex));
+            } else {
+                commit.setSha(HEX.toHexDigits(shaWords[branchIndex * 2])
+                        + HEX.toHexDigits(shaWords[branchIndex * 2 + 1])
+                        + HEX.toHexDigits(shaTails[branchIndex]));
+            }
+            return commit;
+        }
+
+        private static List<BranchModel> branchesOf(GitHubDTO repository) {
+            return repository.branch() != null ? repository.branch() : List.of();
+        }
+    }
+
+    @FunctionalInterface
+    public interface BranchChangeConsumer {
+        void accept(BranchChangeType type, String repositoryName, String branchName, String previousSha, String sha);
+    }
+
+    /**
+     * Shallow heap sizes on a 64-bit JVM with compressed oops and compact Latin-1 strings.
+     */
+    private static final class HeapEstimate {
+        private static final int OBJECT_HEADER = 12;
+        private static final int ARRAY_HEADER = 16;
+        private static final int REFERENCE = 4;
+        private static final long STRING = align(OBJECT_HEADER + REFERENCE + 4 + 1 + 1);
+        private static final long DTO = align(OBJECT_HEADER + 3 * REFERENCE);
+        private static final long BRANCH = align(OBJECT_HEADER + 2 * REFERENCE);
+        private static final long COMMIT = align(OBJECT_HEADER + REFERENCE);
+        private static final long LIST = align(OBJECT_HEADER + REFERENCE);
+        private static final long CACHED_REPOSITORIES = align(OBJECT_HEADER + 10 * REFERENCE + 2 * 8);
+
+        private static long ofDTOs(List<GitHubDTO> repositories) {
+            long size = LIST + referenceArray(repositories.size());
+            for (GitHubDTO repository : repositories) {
+                List<BranchModel> branches = CachedRepositories.branchesOf(repository);
+                size += DTO + string(repository.RepositoryName()) + string(repository.ownerLogin())
+                        + LIST + referenceArray(branches.size());
+                for (BranchModel branch : branches) {
+                    size += BRANCH + string(branch.getName());
+                    if (branch.getCommit() != null) {
+                        size += COMMIT + string(branch.getCommit().getSha());
+                    }
+                }
+            }
+            return size;
+        }
+
+        /**
+         * Interned owner logins and branch names are shared between accounts and are therefore not counted.
+         */
+        private static long ofCompact(CachedRepositories cached) {
+            long size = CACHED_REPOSITORIES
+                    + referenceArray(cached.repositoryNames.length)
+                    + referenceArray(cached.ownerLogins.length)
+                    + align(ARRAY_HEADER + 4L * cached.branchOffsets.length)
+                    + referenceArray(cached.branchNames.length)
+                    + align(ARRAY_HEADER + 8L * cached.shaWords.length)
+                    + align(ARRAY_HEADER + 4L * cached.shaTails.length);
+            for (String repositoryName : cached.repositoryNames) {
+                size += string(repositoryName);
+            }
+            if (cached.irregularShas != null) {
+                for (String sha : cached.irregularShas.values()) {
+                    size += string(sha);
+                }
+            }
+            return size;
+        }
+
+        private static long string(String value) {
+            return value == null ? 0 : STRING + align(ARRAY_HEADER + value.length());
+        }
+
+        private static long referenceArray(int length) {
+            return align(ARRAY_HEADER + (long) REFERENCE * length);
+        }
+
+        private static long align(long size) {
+            return (size + 7) & ~7L;
+        }
+    }
+}
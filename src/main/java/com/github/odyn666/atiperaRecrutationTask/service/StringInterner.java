@@ -0,0 +1,36 @@
+package com.github.odyn666.atiperaRecrutationTask.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deduplicates strings that repeat across cached repositories, such as owner logins and branch names.
+ * Once the interner is full, new values are returned as they are, so rare values cannot grow it without bound.
+ */
+class StringInterner {
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    StringInterner(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String interned = values.get(value);
+        if (interned != null) {
+            return interned;
+        }
+        if (values.size() >= maxSize) {
+            return value;
+        }
+        interned = values.putIfAbsent(value, value);
+        return interned != null ? interned : value;
+    }
+
+    int size() {
+        return values.size();
+    }
+}
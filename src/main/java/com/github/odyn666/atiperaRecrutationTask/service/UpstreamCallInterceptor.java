@@ -0,0 +1,40 @@
+package com.github.odyn666.atiperaRecrutationTask.service;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Records every call to the GitHub API, together with the remaining rate-limit budget, in the {@link UpstreamCallTracker}.
+ */
+public class UpstreamCallInterceptor implements ClientHttpRequestInterceptor {
+    private static final String RATE_LIMIT_REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        long started = System.nanoTime();
+        ClientHttpResponse response = null;
+        try {
+            response = execution.execute(request, body);
+            return response;
+        } finally {
+            Long rateLimitRemaining = response == null ? null
+                    : parseRateLimitRemaining(response.getHeaders().getFirst(RATE_LIMIT_REMAINING_HEADER));
+            UpstreamCallTracker.recordCall(System.nanoTime() - started, rateLimitRemaining);
+        }
+    }
+
+    private static Long parseRateLimitRemaining(String header) {
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+}
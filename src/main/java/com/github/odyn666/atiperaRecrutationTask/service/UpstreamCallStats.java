@@ -0,0 +1,75 @@
+package com.github.odyn666.atiperaRecrutationTask.service;
+
+import lombok.Getter;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Upstream calls, cache hits and rate-limit budget consumed while serving a single request.
+ */
+@Getter
+public class UpstreamCallStats {
+    private final long startedNanos = System.nanoTime();
+    private int upstreamCalls;
+    private int cacheHits;
+    private long upstreamNanos;
+    private Long firstRateLimitRemaining;
+    private Long lastRateLimitRemaining;
+
+    void recordCall(long durationNanos, Long rateLimitRemaining) {
+        upstreamCalls++;
+        upstreamNanos += durationNanos;
+        if (rateLimitRemaining != null) {
+            if (firstRateLimitRemaining == null) {
+                firstRateLimitRemaining = rateLimitRemaining;
+            }
+            lastRateLimitRemaining = rateLimitRemaining;
+        }
+    }
+
+    void recordCacheHit() {
+        cacheHits++;
+    }
+
+    /**
+     * Computes the rate-limit budget consumed from the {@code X-RateLimit-Remaining} headers of the GitHub responses.
+     * Falls back to the number of upstream calls when GitHub did not report the remaining budget or the rate-limit
+     * window was reset in the middle of the request. The result never exceeds the number of upstream calls, because
+     * concurrent requests and the watchlist crawler consume the same budget.
+     *
+     * @return The number of rate-limited requests consumed by this request.
+     */
+    public long getRateLimitConsumed() {
+        if (firstRateLimitRemaining == null || lastRateLimitRemaining > firstRateLimitRemaining) {
+            return upstreamCalls;
+        }
+        return Math.min(firstRateLimitRemaining - lastRateLimitRemaining + 1, upstreamCalls);
+    }
+
+    /**
+     * @return The value of the {@code X-Upstream-Calls} response header.
+     */
+    public String toUpstreamCallsHeader() {
+        StringBuilder header = new StringBuilder()
+                .append("calls=").append(upstreamCalls)
+                .append(", cache-hits=").append(cacheHits)
+                .append(", rate-limit-consumed=").append(getRateLimitConsumed());
+        if (lastRateLimitRemaining != null) {
+            header.append(", rate-limit-remaining=").append(lastRateLimitRemaining);
+        }
+        return header.toString();
+    }
+
+    /**
+     * @return The value of the {@code Server-Timing} response header.
+     */
+    public String toServerTimingHeader() {
+        return String.format(Locale.ROOT, "upstream;dur=%.1f;desc=\"%d calls\", cache;desc=\"%d hits\", total;dur=%.1f",
+                toMillis(upstreamNanos), upstreamCalls, cacheHits, toMillis(System.nanoTime() - startedNanos));
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
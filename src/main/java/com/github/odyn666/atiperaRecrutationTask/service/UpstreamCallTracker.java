@@ -0,0 +1,36 @@
+package com.github.odyn666.atiperaRecrutationTask.service;
+
+import java.util.Optional;
+
+/**
+ * Collects {@link UpstreamCallStats} for the request handled by the current thread.
+ * Calls made outside a tracked request, e.g. by the watchlist crawler, are not recorded.
+ */
+public final class UpstreamCallTracker {
+    private static final ThreadLocal<UpstreamCallStats> CURRENT = new ThreadLocal<>();
+
+    private UpstreamCallTracker() {
+    }
+
+    public static UpstreamCallStats start() {
+        UpstreamCallStats stats = new UpstreamCallStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    public static Optional<UpstreamCallStats> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    static void recordCall(long durationNanos, Long rateLimitRemaining) {
+        current().ifPresent(stats -> stats.recordCall(durationNanos, rateLimitRemaining));
+    }
+
+    static void recordCacheHit() {
+        current().ifPresent(UpstreamCallStats::recordCacheHit);
+    }
+}
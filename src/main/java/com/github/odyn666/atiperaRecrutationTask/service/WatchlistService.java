@@ -0,0 +1,278 @@
+package com.github.odyn666.atiperaRecrutationTask.service;
+
+import com.github.odyn666.atiperaRecrutationTask.dto.GitHubDTO;
+import com.github.odyn666.atiperaRecrutationTask.dto.WatchedAccountDTO;
+import com.github.odyn666.atiperaRecrutationTask.dto.WatchlistStatusDTO;
+import com.github.odyn666.atiperaRecrutationTask.model.GitHubUserModel;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WatchlistService {
+    private static final long MILLIS_PER_HOUR = Duration.ofHours(1).toMillis();
+
+    /**
+     * Accounts that have never been crawled go first, then the most requested ones, then the least recently crawled ones.
+     */
+    private static final Comparator<WatchedAccount> CRAWL_PRIORITY = Comparator
+            .comparing((WatchedAccount account) -> account.lastAttempted != null)
+            .thenComparing(account -> account.requestCount.get(), Comparator.reverseOrder())
+            .thenComparing(account -> account.lastAttempted, Comparator.nullsFirst(Comparator.<Instant>naturalOrder()));
+
+    private final GitHubService gitHubService;
+    private final RepositoryCache repositoryCache;
+    private final ChangeFeedService changeFeedService;
+    private final Map<String, WatchedAccount> watchedAccounts = new ConcurrentHashMap<>();
+
+    @Value("${github.watchlist.accounts:}")
+    private List<String> accounts;
+    @Value("${github.watchlist.refresh-interval-ms:300000}")
+    private long refreshIntervalMs;
+    @Value("${github.watchlist.rate-limit-per-hour:60}")
+    private int rateLimitPerHour;
+    @Value("${github.watchlist.budget-share:0.5}")
+    private double budgetShare;
+    @Value("${github.watchlist.max-age-ms:3600000}")
+    private long maxAgeMs;
+
+    private volatile boolean crawlInProgress;
+    private volatile Instant lastCrawlStarted;
+    private volatile Instant lastCrawlFinished;
+    private volatile int accountsRefreshedInLastCrawl;
+    private volatile long upstreamCallsInLastCrawl;
+    private long availableCalls;
+
+    @PostConstruct
+    void registerWatchedAccounts() {
+        accounts.stream()
+                .map(String::trim)
+                .filter(account -> !account.isEmpty())
+                .forEach(account -> watchedAccounts.putIfAbsent(key(account), new WatchedAccount(account)));
+        log.info("Watching {} GitHub accounts", watchedAccounts.size());
+    }
+
+    /**
+     * @param username The username of the GitHub user.
+     * @return {@code true} if the user is on the watchlist and therefore refreshed by the crawler.
+     */
+    public boolean isWatched(String username) {
+        return watchedAccounts.containsKey(key(username));
+    }
+
+    /**
+     * Returns the pre-warmed repositories of the specified user if the user is on the watchlist.
+     * Every call for a watched user is counted and used to prioritize the next crawl.
+     *
+     * @param username The username of the GitHub user.
+     * @return The cached repositories, or an empty {@link Optional} if the user is not watched, not crawled yet
+     * or the cached repositories are older than the maximum age.
+     */
+    public Optional<List<GitHubDTO>> getCachedRepositories(String username) {
+        WatchedAccount account = watchedAccounts.get(key(username));
+        if (account == null) {
+            return Optional.empty();
+        }
+        account.requestCount.incrementAndGet();
+        Instant oldestAccepted = Instant.now().minusMillis(maxAgeMs);
+        Optional<List<GitHubDTO>> repositories = repositoryCache.get(username)
+                .filter(cached -> !cached.fetchedAt().isBefore(oldestAccepted))
+                .map(RepositoryCache.CachedRepositories::repositories);
+        repositories.ifPresent(cached -> UpstreamCallTracker.recordCacheHit());
+        return repositories;
+    }
+
+    /**
+     * Refreshes the cached repositories of the watched accounts in priority order.
+     * Accounts whose estimated upstream calls do not fit into the available call budget are left for the next crawl;
+     * unused budget carries over, up to the configured share of one hour of the rate limit.
+     * An account that needs more calls than that runs alone once the budget is full, and stops the crawl until then
+     * so that the budget can fill up.
+     */
+    @Scheduled(initialDelayString = "${github.watchlist.initial-delay-ms:0}",
+            fixedDelayString = "${github.watchlist.refresh-interval-ms:300000}")
+    public void crawl() {
+        if (watchedAccounts.isEmpty()) {
+            return;
+        }
+        crawlInProgress = true;
+        lastCrawlStarted = Instant.now();
+        availableCalls = Math.min(availableCalls + getCallBudgetPerCrawl(), getCallBudgetPerHour());
+        long budget = availableCalls;
+        long budgetPerHour = getCallBudgetPerHour();
+        long callsUsed = 0;
+        int refreshed = 0;
+        try {
+            List<WatchedAccount> queue = watchedAccounts.values().stream().sorted(CRAWL_PRIORITY).toList();
+            for (WatchedAccount account : queue) {
+                if (account.repositoryCount < 0) {
+                    if (callsUsed + 1 > budget) {
+                        continue;
+                    }
+                    callsUsed++;
+                    if (!lookUpAccount(account)) {
+                        continue;
+                    }
+                }
+                if (account.estimatedCalls() > budgetPerHour) {
+                    if (callsUsed > 0 || budget < budgetPerHour) {
+                        break;
+                    }
+                } else if (callsUsed + account.estimatedCalls() > budget) {
+                    continue;
+                }
+                Instant fetchStartedAt = Instant.now();
+                account.lastAttempted = fetchStartedAt;
+                try {
+                    List<GitHubDTO> repositories = gitHubService.getDTOs(account.login);
+                    RepositoryCache.CachedRepositories cached = repositoryCache.put(account.username, repositories);
+                    changeFeedService.recordSnapshot(account.username, cached, fetchStartedAt);
+                    account.refreshed(repositories.size());
+                    refreshed++;
+                } catch (RestClientException ex) {
+                    account.lastError = ex.getMessage();
+                    log.warn("Failed to crawl GitHub account {}: {}", account.username, ex.getMessage());
+                }
+                callsUsed += account.estimatedCalls();
+            }
+        } finally {
+            availableCalls -= callsUsed;
+            watchedAccounts.values().forEach(WatchedAccount::decayRequestCount);
+            accountsRefreshedInLastCrawl = refreshed;
+            upstreamCallsInLastCrawl = callsUsed;
+            lastCrawlFinished = Instant.now();
+            crawlInProgress = false;
+        }
+        log.info("Watchlist crawl refreshed {}/{} accounts using {}/{} upstream calls",
+                refreshed, watchedAccounts.size(), callsUsed, budget);
+    }
+
+    /**
+     * Looks up an account that has never been crawled: its login as spelled on GitHub, which the repositories are
+     * matched against, and its number of public repositories, so that its first crawl is checked against the call
+     * budget like any other. Only the first page of repositories is fetched, so the estimate never exceeds one page.
+     * The lookup counts as an attempt, so that the account no longer goes before accounts that were never attempted.
+     *
+     * @return {@code true} if the login and number of repositories are known now.
+     */
+    private boolean lookUpAccount(WatchedAccount account) {
+        try {
+            Optional<GitHubUserModel> user = gitHubService.validateUsername(account.username);
+            account.lastAttempted = Instant.now();
+            if (user.isEmpty()) {
+                account.lastError = "USER NOT FOUND";
+                return false;
+            }
+            Integer publicRepos = user.get().getPublicRepos();
+            account.login = user.get().getLogin() != null ? user.get().getLogin() : account.username;
+            account.repositoryCount = Math.min(publicRepos != null ? publicRepos : 0, GitHubService.REPOSITORIES_PER_PAGE);
+            return true;
+        } catch (RestClientException ex) {
+            account.lastAttempted = Instant.now();
+            account.lastError = ex.getMessage();
+            log.warn("Failed to look up GitHub account {}: {}", account.username, ex.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Reports the progress of the crawler, the freshness of every watched account and the heap used by the cache.
+     *
+     * @return A {@link WatchlistStatusDTO} describing the last crawl and the watched accounts.
+     */
+    public WatchlistStatusDTO getStatus() {
+        Instant now = Instant.now();
+        List<WatchedAccountDTO> accountStatuses = watchedAccounts.values().stream()
+                .sorted(CRAWL_PRIORITY)
+                .map(account -> WatchedAccountDTO.builder()
+                        .username(account.username)
+                        .requestCount(account.requestCount.get())
+                        .lastRefreshed(account.lastRefreshed)
+                        .ageSeconds(account.lastRefreshed == null ? null
+                                : Duration.between(account.lastRefreshed, now).toSeconds())
+                        .repositoryCount(account.repositoryCount)
+                        .lastError(account.lastError)
+                        .build())
+                .toList();
+
+        return WatchlistStatusDTO.builder()
+                .crawlInProgress(crawlInProgress)
+                .lastCrawlStarted(lastCrawlStarted)
+                .lastCrawlFinished(lastCrawlFinished)
+                .accountsRefreshedInLastCrawl(accountsRefreshedInLastCrawl)
+                .upstreamCallsInLastCrawl(upstreamCallsInLastCrawl)
+                .callBudgetPerCrawl(getCallBudgetPerCrawl())
+                .cache(repositoryCache.getStats())
+                .accounts(accountStatuses)
+                .build();
+    }
+
+    /**
+     * Computes how many upstream calls a single crawl may use, i.e. the configured share of the hourly
+     * rate limit scaled down to one refresh interval.
+     *
+     * @return The number of upstream calls available to a single crawl, at least one.
+     */
+    public long getCallBudgetPerCrawl() {
+        return Math.max(1, (long) (getCallBudgetPerHour() * refreshIntervalMs / MILLIS_PER_HOUR));
+    }
+
+    private long getCallBudgetPerHour() {
+        return Math.max(1, (long) (rateLimitPerHour * budgetShare));
+    }
+
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class WatchedAccount {
+        private final String username;
+        /**
+         * The login as spelled on GitHub once the account was looked up, the configured name until then.
+         */
+        private volatile String login;
+        private final AtomicLong requestCount = new AtomicLong();
+        private volatile Instant lastAttempted;
+        private volatile Instant lastRefreshed;
+        private volatile int repositoryCount = -1;
+        private volatile String lastError;
+
+        private WatchedAccount(String username) {
+            this.username = username;
+            this.login = username;
+        }
+
+        /**
+         * One call lists the repositories and one more call per repository lists its branches.
+         */
+        private int estimatedCalls() {
+            return 1 + Math.max(repositoryCount, 0);
+        }
+
+        private void refreshed(int repositoryCount) {
+            this.repositoryCount = repositoryCount;
+            this.lastRefreshed = Instant.now();
+            this.lastError = null;
+        }
+
+        private void decayRequestCount() {
+            requestCount.updateAndGet(count -> count / 2);
+        }
+    }
+}
@@ -1,13 +1,29 @@
 package com.github.odyn666.atiperaRecrutationTask;
 
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
 
-@SpringBootTest
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(properties = "github.tracing.log-exporter.enabled=true")
 class AtiperaRecrutationTaskApplicationTests {
 
+    @Autowired
+    private ApplicationContext applicationContext;
+
     @Test
     void contextLoads() {
     }
 
+    /**
+     * This test method verifies that spans can be exported without a collector when the log exporter is enabled.
+     */
+    @Test
+    void givenLogExporterEnabled_thenLoggingSpanExporterIsRegistered() {
+        assertNotNull(applicationContext.getBean(LoggingSpanExporter.class));
+    }
+
 }
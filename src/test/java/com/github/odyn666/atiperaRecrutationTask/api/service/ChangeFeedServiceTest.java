@@ -0,0 +1,184 @@
+package com.github.odyn666.atiperaRecrutationTask.api.service;
+
+import com.github.odyn666.atiperaRecrutationTask.dto.BranchChangeEventDTO;
+import com.github.odyn666.atiperaRecrutationTask.dto.BranchChangeType;
+import com.github.odyn666.atiperaRecrutationTask.dto.ChangeFeedDTO;
+import com.github.odyn666.atiperaRecrutationTask.dto.GitHubDTO;
+import com.github.odyn666.atiperaRecrutationTask.exception.InvalidCursorException;
+import com.github.odyn666.atiperaRecrutationTask.model.BranchModel;
+import com.github.odyn666.atiperaRecrutationTask.model.CommitModel;
+import com.github.odyn666.atiperaRecrutationTask.service.ChangeFeedService;
+import com.github.odyn666.atiperaRecrutationTask.service.RepositoryCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChangeFeedServiceTest {
+
+    private static final String OWNER = "odyn666";
+    private static final String SHA_1 = "25f119899b73620607ab12f36f5ed1e219f008a1";
+    private static final String SHA_2 = "e98f0eb31f163d86c66aa671f5cd135dddd1c4c3";
+
+    private ChangeFeedService changeFeedService;
+
+    @BeforeEach
+    void setup() {
+        changeFeedService = createChangeFeedService(1000);
+    }
+
+    private static ChangeFeedService createChangeFeedService(int maxEventsPerUser) {
+        ChangeFeedService service = new ChangeFeedService(new RepositoryCache());
+        ReflectionTestUtils.setField(service, "maxEventsPerUser", maxEventsPerUser);
+        ReflectionTestUtils.setField(service, "maxUsers", 100);
+        ReflectionTestUtils.setField(service, "minRefreshIntervalMs", 60_000L);
+        ReflectionTestUtils.invokeMethod(service, "createChangeLogs");
+        return service;
+    }
+
+    private static GitHubDTO repository(String name, BranchModel... branches) {
+        return new GitHubDTO(name, OWNER, Arrays.asList(branches));
+    }
+
+    private static BranchModel branch(String name, String sha) {
+        CommitModel commit = new CommitModel();
+        commit.setSha(sha);
+        BranchModel branch = new BranchModel();
+        branch.setName(name);
+        branch.setCommit(commit);
+        return branch;
+    }
+
+    /**
+     * This test method verifies that the first snapshot only becomes the baseline.
+     */
+    @Test
+    void givenFirstSnapshot_thenNoChangesAreReported() {
+        changeFeedService.recordSnapshot(OWNER, List.of(repository("repo1", branch("main", SHA_1))), Instant.now());
+
+        ChangeFeedDTO feed = changeFeedService.getChanges(OWNER, null);
+
+        assertTrue(feed.changes().isEmpty());
+        assertFalse(feed.resyncRequired());
+        assertFalse(changeFeedService.isRefreshDue(OWNER));
+    }
+
+    /**
+     * This test method verifies that created, deleted and moved branches are reported, and that the cursor only
+     * returns the changes recorded after it.
+     */
+    @Test
+    void givenSuccessiveSnapshots_thenOnlyDeltasSinceCursorAreReturned() {
+        // Given
+        changeFeedService.recordSnapshot(OWNER, List.of(repository("repo1", branch("main", SHA_1), branch("dev", SHA_1))), Instant.now());
+        String cursor = changeFeedService.getChanges(OWNER, null).cursor();
+
+        // When
+        changeFeedService.recordSnapshot(OWNER, List.of(repository("repo1", branch("main", SHA_2), branch("feature", SHA_1))), Instant.now());
+        ChangeFeedDTO feed = changeFeedService.getChanges(OWNER, cursor);
+
+        // Then
+        assertEquals(3, feed.changes().size());
+        BranchChangeEventDTO moved = feed.changes().stream()
+                .filter(event -> event.type() == BranchChangeType.HEAD_MOVED).findFirst().orElseThrow();
+        assertEquals("main", moved.branchName());
+        assertEquals(SHA_1, moved.previousSha());
+        assertEquals(SHA_2, moved.sha());
+        assertTrue(feed.changes().stream().anyMatch(event -> event.type() == BranchChangeType.CREATED && event.branchName().equals("feature")));
+        BranchChangeEventDTO deleted = feed.changes().stream()
+                .filter(event -> event.type() == BranchChangeType.DELETED).findFirst().orElseThrow();
+        assertEquals("dev", deleted.branchName());
+        assertNull(deleted.sha());
+
+        assertTrue(changeFeedService.getChanges(OWNER, feed.cursor()).changes().isEmpty());
+    }
+
+    /**
+     * This test method verifies that branches without a commit or with a SHA that is not hexadecimal are compared
+     * like any other branch, so that only their real head movements are reported.
+     */
+    @Test
+    void givenBranchesWithoutCommitOrIrregularSha_thenOnlyRealHeadMovementsAreReported() {
+        // Given
+        BranchModel withoutCommit = new BranchModel();
+        withoutCommit.setName("orphan");
+        changeFeedService.recordSnapshot(OWNER, List.of(repository("repo1", branch("main", "not-a-sha"), withoutCommit, branch("dev", SHA_1))), Instant.now());
+        String cursor = changeFeedService.getChanges(OWNER, null).cursor();
+
+        // When
+        changeFeedService.recordSnapshot(OWNER, List.of(repository("repo1", branch("main", "not-a-sha"), withoutCommit, branch("dev", "still-not-a-sha"))), Instant.now());
+        ChangeFeedDTO feed = changeFeedService.getChanges(OWNER, cursor);
+
+        // Then
+        assertEquals(1, feed.changes().size());
+        assertEquals("dev", feed.changes().get(0).branchName());
+        assertEquals(SHA_1, feed.changes().get(0).previousSha());
+        assertEquals("still-not-a-sha", feed.changes().get(0).sha());
+    }
+
+    /**
+     * This test method verifies that a client whose changes were dropped from the bounded log is asked to resynchronize.
+     */
+    @Test
+    void givenDroppedChanges_thenResyncIsRequired() {
+        changeFeedService = createChangeFeedService(1);
+        changeFeedService.recordSnapshot(OWNER, List.of(repository("repo1", branch("main", SHA_1))), Instant.now());
+        String cursor = changeFeedService.getChanges(OWNER, null).cursor();
+
+        changeFeedService.recordSnapshot(OWNER, List.of(repository("repo1", branch("main", SHA_2), branch("dev", SHA_2))), Instant.now());
+        ChangeFeedDTO feed = changeFeedService.getChanges(OWNER, cursor);
+
+        assertTrue(feed.resyncRequired());
+        assertEquals(1, feed.changes().size());
+    }
+
+    /**
+     * This test method verifies that a cursor of another change log, e.g. issued before a restart, requires a resync.
+     */
+    @Test
+    void givenCursorOfAnotherChangeLog_thenResyncIsRequired() {
+        changeFeedService.recordSnapshot(OWNER, List.of(repository("repo1", branch("main", SHA_1))), Instant.now());
+
+        assertTrue(changeFeedService.getChanges(OWNER, "1-0").resyncRequired());
+    }
+
+    /**
+     * This test method verifies that a snapshot whose fetch started before the recorded one, e.g. a slower concurrent
+     * poll, is ignored instead of reporting its older heads as moved.
+     */
+    @Test
+    void givenOutOfOrderSnapshots_thenStaleSnapshotIsIgnored() {
+        // Given
+        Instant slowPollStartedAt = Instant.now();
+        Instant fastPollStartedAt = slowPollStartedAt.plusMillis(10);
+        changeFeedService.recordSnapshot(OWNER, List.of(repository("repo1", branch("main", SHA_1))), slowPollStartedAt.minusSeconds(1));
+        String cursor = changeFeedService.getChanges(OWNER, null).cursor();
+
+        // When
+        changeFeedService.recordSnapshot(OWNER, List.of(repository("repo1", branch("main", SHA_2))), fastPollStartedAt);
+        changeFeedService.recordSnapshot(OWNER, List.of(repository("repo1", branch("main", SHA_1))), slowPollStartedAt);
+        ChangeFeedDTO feed = changeFeedService.getChanges(OWNER, cursor);
+
+        // Then
+        assertEquals(1, feed.changes().size());
+        assertEquals(SHA_2, feed.changes().get(0).sha());
+    }
+
+    /**
+     * This test method verifies that a cursor that is not {@code <epoch>-<sequence>} in base 36 is rejected.
+     */
+    @Test
+    void givenMalformedCursor_thenInvalidCursorExceptionIsThrown() {
+        assertThrows(InvalidCursorException.class, () -> changeFeedService.getChanges(OWNER, "not a cursor"));
+        assertThrows(InvalidCursorException.class, () -> changeFeedService.getChanges(OWNER, "abc"));
+    }
+}
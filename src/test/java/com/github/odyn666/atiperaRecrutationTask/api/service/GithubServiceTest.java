@@ -8,7 +8,9 @@ import com.github.odyn666.atiperaRecrutationTask.model.BranchModel;
 import com.github.odyn666.atiperaRecrutationTask.model.CommitModel;
 import com.github.odyn666.atiperaRecrutationTask.model.GitHubRepositoryModel;
 import com.github.odyn666.atiperaRecrutationTask.model.GitHubUserModel;
+import com.github.odyn666.atiperaRecrutationTask.service.ChangeFeedService;
 import com.github.odyn666.atiperaRecrutationTask.service.GitHubService;
+import com.github.odyn666.atiperaRecrutationTask.service.WatchlistService;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.HttpGet;
@@ -50,6 +52,12 @@ public class GithubServiceTest {
     @MockBean
     private GitHubService gitHubService;
 
+    @Mock
+    private WatchlistService watchlistService;
+
+    @Mock
+    private ChangeFeedService changeFeedService;
+
     private static final String OWNER = "odyn666";
     private static final String REPO_NAME = "DrivingSchoolMenagmetSystem";
     private static final String GITHUB_USER_API = "https://api.github.com/users/";
@@ -70,7 +78,7 @@ public class GithubServiceTest {
         gitHubService.setGithubUsersApiUrl("https://api.github.com/users/");
         gitHubService.setGithubReposApiUrl("https://api.github.com/repos/");
 
-        GitHubTaskController gitHubTaskController = new GitHubTaskController(gitHubService);
+        GitHubTaskController gitHubTaskController = new GitHubTaskController(gitHubService, watchlistService, changeFeedService);
         // Initialize your GitHubService with your constructor
     }
 
@@ -153,7 +161,7 @@ public class GithubServiceTest {
     @Test
     public void testGetBranchesReturnsEmptyListWhenApiReturnsNull() {
         // Given
-        when(restTemplate.getForObject("https://api.github.com/repos/" + OWNER + "/" + REPO_NAME + "/branches", BranchModel[].class))
+        when(restTemplate.getForObject("https://api.github.com/repos/{owner}/{repo}/branches", BranchModel[].class, OWNER, REPO_NAME))
                 .thenReturn(null);
 
         // When
@@ -184,7 +192,7 @@ public class GithubServiceTest {
 
         BranchModel[] branches = new BranchModel[1];
         branches[0] = branchModel;
-        when(restTemplate.getForObject("https://api.github.com/repos/" + OWNER + "/" + REPO_NAME + "/branches", BranchModel[].class))
+        when(restTemplate.getForObject("https://api.github.com/repos/{owner}/{repo}/branches", BranchModel[].class, OWNER, REPO_NAME))
                 .thenReturn(branches);
 
         // When
@@ -213,7 +221,7 @@ public class GithubServiceTest {
         repositories[0].getOwner().setLogin(OWNER);
         repositories[0].setBranches(List.of(new BranchModel()));
 
-        when(restTemplate.getForObject(GITHUB_USER_API + OWNER + "/repos?type=all", GitHubRepositoryModel[].class))
+        when(restTemplate.getForObject(GITHUB_USER_API + "{username}/repos?type=all", GitHubRepositoryModel[].class, OWNER))
                 .thenReturn(repositories);
 
         // Act
@@ -240,7 +248,7 @@ public class GithubServiceTest {
     @Test
     void testGetDTOs_invalidResponse_returnsEmptyList() {
         // Arrange
-        when(restTemplate.getForObject(GITHUB_USER_API + OWNER + "/repos?type=all", GitHubRepositoryModel[].class))
+        when(restTemplate.getForObject(GITHUB_USER_API + "{username}/repos?type=all", GitHubRepositoryModel[].class, OWNER))
                 .thenReturn(null);
 
         // Act
@@ -262,7 +270,7 @@ public class GithubServiceTest {
     @Test
     void testGetDTOs_emptyResponse_returnsEmptyList() {
         // Arrange
-        when(restTemplate.getForObject(GITHUB_USER_API + OWNER + "/repos?type=all", GitHubRepositoryModel[].class))
+        when(restTemplate.getForObject(GITHUB_USER_API + "{username}/repos?type=all", GitHubRepositoryModel[].class, OWNER))
                 .thenReturn(new GitHubRepositoryModel[0]);
 
         // Act
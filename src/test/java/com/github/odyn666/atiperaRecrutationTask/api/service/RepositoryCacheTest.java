@@ -0,0 +1,119 @@
+package com.github.odyn666.atiperaRecrutationTask.api.service;
+
+import com.github.odyn666.atiperaRecrutationTask.dto.GitHubDTO;
+import com.github.odyn666.atiperaRecrutationTask.dto.RepositoryCacheStatsDTO;
+import com.github.odyn666.atiperaRecrutationTask.model.BranchModel;
+import com.github.odyn666.atiperaRecrutationTask.model.CommitModel;
+import com.github.odyn666.atiperaRecrutationTask.service.RepositoryCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RepositoryCacheTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RepositoryCacheTest.class);
+
+    private static final String OWNER = "odyn666";
+
+    private RepositoryCache repositoryCache;
+
+    @BeforeEach
+    void setup() {
+        repositoryCache = new RepositoryCache();
+    }
+
+    private static BranchModel branch(String name, String sha) {
+        CommitModel commit = new CommitModel();
+        commit.setSha(sha);
+        BranchModel branch = new BranchModel();
+        branch.setName(name);
+        branch.setCommit(commit);
+        return branch;
+    }
+
+    /**
+     * This test method verifies that the repositories read from the cache are equal to the cached ones.
+     */
+    @Test
+    void givenCachedRepositories_whenRead_thenSameRepositoriesAreRebuilt() {
+        // Given
+        BranchModel withoutCommit = new BranchModel();
+        withoutCommit.setName("orphan");
+        List<GitHubDTO> repositories = List.of(
+                new GitHubDTO("repo1", OWNER, List.of(
+                        branch("main", "25f119899b73620607ab12f36f5ed1e219f008a1"),
+                        branch("dev", "e98f0eb31f163d86c66aa671f5cd135dddd1c4c3"))),
+                new GitHubDTO("repo2", OWNER, List.of(branch("main", "not-a-sha"), withoutCommit)),
+                new GitHubDTO("repo3", OWNER, List.of()));
+
+        // When
+        repositoryCache.put(OWNER, repositories);
+        List<GitHubDTO> result = repositoryCache.get(OWNER).orElseThrow().repositories();
+
+        // Then
+        assertEquals(3, result.size());
+        assertEquals("repo1", result.get(0).RepositoryName());
+        assertEquals(OWNER, result.get(0).ownerLogin());
+        assertEquals("dev", result.get(0).branch().get(1).getName());
+        assertEquals("25f119899b73620607ab12f36f5ed1e219f008a1", result.get(0).branch().get(0).getCommit().getSha());
+        assertEquals("e98f0eb31f163d86c66aa671f5cd135dddd1c4c3", result.get(0).branch().get(1).getCommit().getSha());
+        assertEquals("not-a-sha", result.get(1).branch().get(0).getCommit().getSha());
+        assertNull(result.get(1).branch().get(1).getCommit());
+        assertTrue(result.get(2).branch().isEmpty());
+    }
+
+    /**
+     * This test method verifies that owner logins and branch names are shared between accounts.
+     */
+    @Test
+    void givenRepeatedStrings_whenCached_thenTheyAreInterned() {
+        // Given
+        String sha = "0a1845f4915ea94734cfe10b6e184c9920672b11";
+        repositoryCache.put("first", List.of(new GitHubDTO("repo1", new String(OWNER), List.of(branch(new String("main"), sha)))));
+        repositoryCache.put("second", List.of(new GitHubDTO("repo2", new String(OWNER), List.of(branch(new String("main"), sha)))));
+
+        // When
+        GitHubDTO first = repositoryCache.get("first").orElseThrow().repositories().get(0);
+        GitHubDTO second = repositoryCache.get("second").orElseThrow().repositories().get(0);
+
+        // Then
+        assertSame(first.ownerLogin(), second.ownerLogin());
+        assertSame(first.branch().get(0).getName(), second.branch().get(0).getName());
+    }
+
+    /**
+     * This test method reports the estimated heap per cached repository before and after compaction.
+     */
+    @Test
+    void givenLargeAccount_thenCompactRepresentationUsesLessHeap() {
+        // Given
+        List<GitHubDTO> repositories = new ArrayList<>();
+        for (int r = 0; r < 500; r++) {
+            List<BranchModel> branches = new ArrayList<>();
+            for (int b = 0; b < 5; b++) {
+                branches.add(branch(b == 0 ? "main" : "feature-" + b, String.format("%040x", r * 5L + b)));
+            }
+            repositories.add(new GitHubDTO("repository-" + r, OWNER, branches));
+        }
+
+        // When
+        repositoryCache.put(OWNER, repositories);
+        RepositoryCacheStatsDTO stats = repositoryCache.getStats();
+        log.info("Heap per cached repository: {} bytes as DTOs, {} bytes compacted",
+                stats.uncompactedHeapBytesPerRepository(), stats.heapBytesPerRepository());
+
+        // Then
+        assertEquals(500, stats.repositories());
+        assertEquals(2500, stats.branches());
+        assertTrue(stats.heapBytesPerRepository() * 3 < stats.uncompactedHeapBytesPerRepository());
+    }
+}
@@ -0,0 +1,191 @@
+package com.github.odyn666.atiperaRecrutationTask.api.service;
+
+import com.github.odyn666.atiperaRecrutationTask.controller.GitHubTaskController;
+import com.github.odyn666.atiperaRecrutationTask.service.ChangeFeedService;
+import com.github.odyn666.atiperaRecrutationTask.service.GitHubService;
+import com.github.odyn666.atiperaRecrutationTask.service.UpstreamCallStats;
+import com.github.odyn666.atiperaRecrutationTask.service.UpstreamCallTracker;
+import com.github.odyn666.atiperaRecrutationTask.service.WatchlistService;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.mockito.Mockito;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class UpstreamCallStatsTest {
+
+    private static final String OWNER = "odyn666";
+    private static final String USER_URL = "https://api.github.com/users/" + OWNER;
+    private static final String REPOS_URL = "https://api.github.com/users/" + OWNER + "/repos?type=all";
+    private static final String BRANCHES_URL = "https://api.github.com/repos/" + OWNER + "/repo1/branches";
+    private static final String REPOSITORIES_JSON = "[{\"name\":\"repo1\",\"fork\":false,\"owner\":{\"login\":\"" + OWNER + "\"}}]";
+    private static final String BRANCHES_JSON = "[{\"name\":\"main\",\"commit\":{\"sha\":\"25f119899b73620607ab12f36f5ed1e219f008a1\"}}]";
+
+    private GitHubService gitHubService;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setup() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        gitHubService = new GitHubService();
+        gitHubService.setRestTemplate(restTemplate);
+        gitHubService.setGithubUsersApiUrl("https://api.github.com/users/");
+        gitHubService.setGithubReposApiUrl("https://api.github.com/repos/");
+    }
+
+    @AfterEach
+    void tearDown() {
+        UpstreamCallTracker.stop();
+    }
+
+    private static HttpHeaders rateLimitRemaining(long remaining) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-RateLimit-Remaining", String.valueOf(remaining));
+        return headers;
+    }
+
+    /**
+     * This test method verifies that the {@code X-Upstream-Calls} response header reports the calls made to the
+     * GitHub API and the rate-limit budget they consumed.
+     */
+    @Test
+    void givenRateLimitHeaders_whenRepositoriesAreRequested_thenUpstreamCallsHeaderIsReported() throws Exception {
+        // Given
+        server.expect(requestTo(USER_URL))
+                .andRespond(withSuccess("{\"login\":\"" + OWNER + "\"}", MediaType.APPLICATION_JSON).headers(rateLimitRemaining(58)));
+        server.expect(requestTo(REPOS_URL))
+                .andRespond(withSuccess(REPOSITORIES_JSON, MediaType.APPLICATION_JSON).headers(rateLimitRemaining(57)));
+        server.expect(requestTo(BRANCHES_URL))
+                .andRespond(withSuccess(BRANCHES_JSON, MediaType.APPLICATION_JSON).headers(rateLimitRemaining(56)));
+        GitHubTaskController controller = new GitHubTaskController(gitHubService,
+                Mockito.mock(WatchlistService.class), Mockito.mock(ChangeFeedService.class));
+        ReflectionTestUtils.setField(controller, "upstreamCallHeadersEnabled", true);
+
+        // When and Then
+        MockMvcBuilders.standaloneSetup(controller)
+                .build()
+                .perform(MockMvcRequestBuilders.get("/api/github/repositories")
+                        .param("username", OWNER)
+                        .header("Accept", "application/json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Upstream-Calls",
+                        "calls=3, cache-hits=0, rate-limit-consumed=3, rate-limit-remaining=56"));
+        server.verify();
+    }
+
+    /**
+     * This test method verifies that the calls to the GitHub API are observed with their URI templates, so that
+     * users and repositories do not become separate {@code uri} tags of the client metrics and spans.
+     */
+    @Test
+    void givenObservationRegistry_whenRepositoriesAreFetched_thenCallsAreTaggedWithUriTemplates() {
+        // Given
+        List<String> uriTemplates = new ArrayList<>();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new ObservationHandler<ClientRequestObservationContext>() {
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return context instanceof ClientRequestObservationContext;
+            }
+
+            @Override
+            public void onStop(ClientRequestObservationContext context) {
+                uriTemplates.add(context.getUriTemplate());
+            }
+        });
+        gitHubService.setObservationRegistry(observationRegistry);
+        server.expect(requestTo(REPOS_URL))
+                .andRespond(withSuccess(REPOSITORIES_JSON, MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BRANCHES_URL))
+                .andRespond(withSuccess(BRANCHES_JSON, MediaType.APPLICATION_JSON));
+
+        // When
+        gitHubService.getDTOs(OWNER);
+
+        // Then
+        assertEquals(List.of("https://api.github.com/users/{username}/repos?type=all",
+                "https://api.github.com/repos/{owner}/{repo}/branches"), uriTemplates);
+        server.verify();
+    }
+
+    /**
+     * This test method verifies that every call to the GitHub API is counted and that the consumed rate-limit budget
+     * is taken from the {@code X-RateLimit-Remaining} response headers.
+     */
+    @Test
+    void givenRateLimitHeaders_whenRepositoriesAreFetched_thenCallsAndBudgetAreReported() {
+        // Given
+        server.expect(requestTo(REPOS_URL))
+                .andRespond(withSuccess(REPOSITORIES_JSON, MediaType.APPLICATION_JSON).headers(rateLimitRemaining(57)));
+        server.expect(requestTo(BRANCHES_URL))
+                .andRespond(withSuccess(BRANCHES_JSON, MediaType.APPLICATION_JSON).headers(rateLimitRemaining(56)));
+        UpstreamCallStats stats = UpstreamCallTracker.start();
+
+        // When
+        gitHubService.getDTOs(OWNER);
+
+        // Then
+        server.verify();
+        assertEquals(2, stats.getUpstreamCalls());
+        assertEquals("calls=2, cache-hits=0, rate-limit-consumed=2, rate-limit-remaining=56", stats.toUpstreamCallsHeader());
+    }
+
+    /**
+     * This test method verifies that calls made concurrently on the same token are not attributed to this request,
+     * i.e. that the consumed budget never exceeds the number of upstream calls.
+     */
+    @Test
+    void givenConcurrentCallsOnSameToken_thenConsumedBudgetIsClampedToUpstreamCalls() {
+        // Given
+        server.expect(requestTo(REPOS_URL))
+                .andRespond(withSuccess(REPOSITORIES_JSON, MediaType.APPLICATION_JSON).headers(rateLimitRemaining(57)));
+        server.expect(requestTo(BRANCHES_URL))
+                .andRespond(withSuccess(BRANCHES_JSON, MediaType.APPLICATION_JSON).headers(rateLimitRemaining(40)));
+        UpstreamCallStats stats = UpstreamCallTracker.start();
+
+        // When
+        gitHubService.getDTOs(OWNER);
+
+        // Then
+        assertEquals(2, stats.getRateLimitConsumed());
+        assertEquals("calls=2, cache-hits=0, rate-limit-consumed=2, rate-limit-remaining=40", stats.toUpstreamCallsHeader());
+    }
+
+    /**
+     * This test method verifies that calls made outside a tracked request, e.g. by the watchlist crawler, are not recorded.
+     */
+    @Test
+    void givenNoTrackedRequest_whenRepositoriesAreFetched_thenNothingIsRecorded() {
+        // Given
+        server.expect(requestTo(REPOS_URL))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON).headers(rateLimitRemaining(57)));
+
+        // When
+        gitHubService.getDTOs(OWNER);
+
+        // Then
+        server.verify();
+        assertFalse(UpstreamCallTracker.current().isPresent());
+    }
+}
@@ -0,0 +1,251 @@
+package com.github.odyn666.atiperaRecrutationTask.api.service;
+
+import com.github.odyn666.atiperaRecrutationTask.dto.GitHubDTO;
+import com.github.odyn666.atiperaRecrutationTask.dto.WatchlistStatusDTO;
+import com.github.odyn666.atiperaRecrutationTask.model.GitHubUserModel;
+import com.github.odyn666.atiperaRecrutationTask.service.ChangeFeedService;
+import com.github.odyn666.atiperaRecrutationTask.service.GitHubService;
+import com.github.odyn666.atiperaRecrutationTask.service.RepositoryCache;
+import com.github.odyn666.atiperaRecrutationTask.service.WatchlistService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WatchlistServiceTest {
+
+    @Mock
+    private GitHubService gitHubService;
+
+    @Mock
+    private ChangeFeedService changeFeedService;
+
+    private RepositoryCache repositoryCache;
+    private WatchlistService watchlistService;
+
+    @BeforeEach
+    void setup() {
+        repositoryCache = new RepositoryCache();
+        watchlistService = createWatchlistService(List.of("odyn666", "octocat"), 60);
+    }
+
+    private WatchlistService createWatchlistService(List<String> accounts, int rateLimitPerHour) {
+        WatchlistService service = new WatchlistService(gitHubService, repositoryCache, changeFeedService);
+        ReflectionTestUtils.setField(service, "accounts", accounts);
+        ReflectionTestUtils.setField(service, "refreshIntervalMs", 3_600_000L);
+        ReflectionTestUtils.setField(service, "rateLimitPerHour", rateLimitPerHour);
+        ReflectionTestUtils.setField(service, "budgetShare", 0.5);
+        ReflectionTestUtils.setField(service, "maxAgeMs", 3_600_000L);
+        ReflectionTestUtils.invokeMethod(service, "registerWatchedAccounts");
+        return service;
+    }
+
+    private static Optional<GitHubUserModel> user(String login, int publicRepos) {
+        GitHubUserModel user = new GitHubUserModel();
+        user.setLogin(login);
+        user.setPublicRepos(publicRepos);
+        return Optional.of(user);
+    }
+
+    /**
+     * This test method verifies that a crawl fills the cache so that watched accounts are served without upstream calls.
+     */
+    @Test
+    void givenWatchedAccount_whenCrawled_thenRepositoriesAreServedFromCache() {
+        // Given
+        List<GitHubDTO> repositories = List.of(new GitHubDTO("repo1", "odyn666", new ArrayList<>()));
+        when(gitHubService.validateUsername("odyn666")).thenReturn(user("odyn666", 1));
+        when(gitHubService.validateUsername("octocat")).thenReturn(user("octocat", 0));
+        when(gitHubService.getDTOs("odyn666")).thenReturn(repositories);
+        when(gitHubService.getDTOs("octocat")).thenReturn(List.of());
+
+        // When
+        watchlistService.crawl();
+        Optional<List<GitHubDTO>> cached = watchlistService.getCachedRepositories("ODYN666");
+
+        // Then
+        assertTrue(cached.isPresent());
+        assertEquals("repo1", cached.get().get(0).RepositoryName());
+        verify(changeFeedService).recordSnapshot(eq("odyn666"), any(RepositoryCache.CachedRepositories.class), any(Instant.class));
+    }
+
+    /**
+     * This test method verifies that accounts which are not on the watchlist are never served from the cache.
+     */
+    @Test
+    void givenNotWatchedAccount_thenEmptyOptionalReceived() {
+        assertEquals(Optional.empty(), watchlistService.getCachedRepositories("someoneElse"));
+    }
+
+    /**
+     * This test method verifies that the most requested account is crawled first when the budget only allows one account.
+     */
+    @Test
+    void givenBudgetForOneAccount_whenCrawled_thenMostRequestedAccountIsRefreshed() {
+        // Given
+        watchlistService = createWatchlistService(List.of("odyn666", "octocat"), 4);
+        watchlistService.getCachedRepositories("octocat");
+        when(gitHubService.validateUsername("octocat")).thenReturn(user("octocat", 0));
+        when(gitHubService.getDTOs("octocat")).thenReturn(List.of());
+
+        // When
+        watchlistService.crawl();
+
+        // Then
+        verify(gitHubService, never()).validateUsername("odyn666");
+        verify(gitHubService, never()).getDTOs("odyn666");
+        WatchlistStatusDTO status = watchlistService.getStatus();
+        assertEquals(1, status.accountsRefreshedInLastCrawl());
+        assertTrue(status.accounts().stream()
+                .anyMatch(account -> account.username().equals("octocat") && account.lastRefreshed() != null));
+    }
+
+    /**
+     * This test method verifies that a failing account is reported in the status and does not abort the crawl.
+     */
+    @Test
+    void givenFailingAccount_whenCrawled_thenErrorIsReportedAndOtherAccountsAreRefreshed() {
+        // Given
+        when(gitHubService.validateUsername("odyn666")).thenReturn(user("odyn666", 1));
+        when(gitHubService.validateUsername("octocat")).thenReturn(user("octocat", 0));
+        when(gitHubService.getDTOs("odyn666")).thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        when(gitHubService.getDTOs("octocat")).thenReturn(List.of());
+
+        // When
+        watchlistService.crawl();
+
+        // Then
+        WatchlistStatusDTO status = watchlistService.getStatus();
+        assertEquals(1, status.accountsRefreshedInLastCrawl());
+        assertTrue(status.accounts().stream().anyMatch(account -> account.lastError() != null));
+    }
+
+    /**
+     * This test method verifies that an account needing more calls than the hourly budget is not crawled on an
+     * unknown estimate, and is crawled alone once the budget has filled up instead of being skipped forever.
+     */
+    @Test
+    void givenAccountLargerThanHourlyBudget_whenBudgetIsFull_thenAccountIsCrawledAlone() {
+        // Given
+        watchlistService = createWatchlistService(List.of("bigorg"), 20);
+        when(gitHubService.validateUsername("bigorg")).thenReturn(user("bigorg", 30));
+        when(gitHubService.getDTOs("bigorg")).thenReturn(List.of());
+
+        // When
+        watchlistService.crawl();
+
+        // Then
+        verify(gitHubService, never()).getDTOs("bigorg");
+        assertEquals(1, watchlistService.getStatus().upstreamCallsInLastCrawl());
+
+        // When
+        watchlistService.crawl();
+
+        // Then
+        verify(gitHubService, times(1)).getDTOs("bigorg");
+        verify(gitHubService, times(1)).validateUsername("bigorg");
+        assertEquals(1, watchlistService.getStatus().accountsRefreshedInLastCrawl());
+    }
+
+    /**
+     * This test method verifies that an account spelled with another letter case in the configuration is crawled
+     * with its login as spelled on GitHub, so that its repositories are not filtered out.
+     */
+    @Test
+    void givenAccountSpelledInOtherLetterCase_whenCrawled_thenGitHubLoginIsUsed() {
+        // Given
+        watchlistService = createWatchlistService(List.of("ODYN666"), 60);
+        List<GitHubDTO> repositories = List.of(new GitHubDTO("repo1", "odyn666", new ArrayList<>()));
+        when(gitHubService.validateUsername("ODYN666")).thenReturn(user("odyn666", 1));
+        when(gitHubService.getDTOs("odyn666")).thenReturn(repositories);
+
+        // When
+        watchlistService.crawl();
+
+        // Then
+        verify(gitHubService, never()).getDTOs("ODYN666");
+        assertEquals("repo1", watchlistService.getCachedRepositories("odyn666").orElseThrow().get(0).RepositoryName());
+    }
+
+    /**
+     * This test method verifies that the first crawl of an account with more public repositories than one page
+     * is estimated at the calls that are really made, i.e. one page of branch lookups.
+     */
+    @Test
+    void givenAccountWithMoreRepositoriesThanOnePage_whenCrawled_thenEstimateIsCappedAtOnePage() {
+        // Given
+        watchlistService = createWatchlistService(List.of("bigorg"), 80);
+        when(gitHubService.validateUsername("bigorg")).thenReturn(user("bigorg", 500));
+        when(gitHubService.getDTOs("bigorg")).thenReturn(List.of());
+
+        // When
+        watchlistService.crawl();
+
+        // Then
+        verify(gitHubService).getDTOs("bigorg");
+        assertEquals(1, watchlistService.getStatus().accountsRefreshedInLastCrawl());
+    }
+
+    /**
+     * This test method verifies that an account waiting for the budget to fill up after its lookup no longer goes
+     * before accounts that were never attempted, so that it cannot block the rest of the queue.
+     */
+    @Test
+    void givenLookedUpAccountLargerThanHourlyBudget_whenCrawledAgain_thenNeverAttemptedAccountGoesFirst() {
+        // Given
+        watchlistService = createWatchlistService(List.of("bigorg", "octocat"), 20);
+        for (int i = 0; i < 4; i++) {
+            watchlistService.getCachedRepositories("bigorg");
+        }
+        when(gitHubService.validateUsername("bigorg")).thenReturn(user("bigorg", 30));
+        watchlistService.crawl();
+        verify(gitHubService, never()).validateUsername("octocat");
+        when(gitHubService.validateUsername("octocat")).thenReturn(user("octocat", 0));
+        when(gitHubService.getDTOs("octocat")).thenReturn(List.of());
+
+        // When
+        watchlistService.crawl();
+
+        // Then
+        verify(gitHubService).getDTOs("octocat");
+        verify(gitHubService, never()).getDTOs("bigorg");
+        assertEquals(1, watchlistService.getStatus().accountsRefreshedInLastCrawl());
+    }
+
+    /**
+     * This test method verifies that cached repositories older than the maximum age are not served,
+     * so that the request falls back to the GitHub API.
+     */
+    @Test
+    void givenStaleCachedRepositories_thenEmptyOptionalReceived() throws InterruptedException {
+        // Given
+        repositoryCache.put("odyn666", List.of(new GitHubDTO("repo1", "odyn666", new ArrayList<>())));
+        assertTrue(watchlistService.getCachedRepositories("odyn666").isPresent());
+
+        // When
+        ReflectionTestUtils.setField(watchlistService, "maxAgeMs", 0L);
+        Thread.sleep(5);
+
+        // Then
+        assertEquals(Optional.empty(), watchlistService.getCachedRepositories("odyn666"));
+    }
+}
@@ -1,21 +1,33 @@
 package com.github.odyn666.atiperaRecrutationTask.controller;
 
+import com.github.odyn666.atiperaRecrutationTask.dto.ChangeFeedDTO;
 import com.github.odyn666.atiperaRecrutationTask.dto.GitHubDTO;
 import com.github.odyn666.atiperaRecrutationTask.exception.BadHeaderException;
+import com.github.odyn666.atiperaRecrutationTask.exception.GlobalExceptionHandler;
 import com.github.odyn666.atiperaRecrutationTask.exception.UserNotFoundException;
 import com.github.odyn666.atiperaRecrutationTask.model.GitHubUserModel;
+import com.github.odyn666.atiperaRecrutationTask.serialization.GitHubDTOProtobufHttpMessageConverter;
+import com.github.odyn666.atiperaRecrutationTask.service.ChangeFeedService;
 import com.github.odyn666.atiperaRecrutationTask.service.GitHubService;
+import com.github.odyn666.atiperaRecrutationTask.service.WatchlistService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
@@ -28,6 +40,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ContextConfiguration(classes = {GitHubTaskController.class})
@@ -43,11 +56,31 @@ class GitHubTaskControllerTest {
     @MockBean
     private GitHubService gitHubService;
 
+    @MockBean
+    private WatchlistService watchlistService;
+
+    @MockBean
+    private ChangeFeedService changeFeedService;
+
     @Autowired
     @InjectMocks
     private GitHubTaskController gitHubTaskController;
 
 
+    /**
+     * Builds a standalone {@link MockMvc} with the exception handler and the converters of every supported media type,
+     * as registered by the application.
+     */
+    private MockMvc withAllResponseFormats() {
+        return MockMvcBuilders.standaloneSetup(gitHubTaskController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(),
+                        new MappingJackson2CborHttpMessageConverter(),
+                        new MappingJackson2SmileHttpMessageConverter(),
+                        new GitHubDTOProtobufHttpMessageConverter())
+                .build();
+    }
+
     /**
      * Method under test:
      * {@link GitHubTaskController#getGitHubRepositories(String, String)}
@@ -102,6 +135,162 @@ class GitHubTaskControllerTest {
                         .string("[{\"RepositoryName\":\"application/json\",\"ownerLogin\":\"application/json\",\"branch\":[]}]"));
     }
 
+    /**
+     * This test method verifies that repositories of a watched account are served from the pre-warmed cache
+     * without calling the GitHub API.
+     */
+    @Test
+    void testGetGitHubRepositoriesServedFromWatchlistCache() throws Exception {
+        // Arrange
+        ArrayList<GitHubDTO> gitHubDTOList = new ArrayList<>();
+        gitHubDTOList.add(new GitHubDTO("repo1", "foo", new ArrayList<>()));
+        when(watchlistService.getCachedRepositories("foo")).thenReturn(Optional.of(gitHubDTOList));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/api/github/repositories")
+                .param("username", "foo")
+                .header("Accept", "application/json");
+
+        // Act and Assert
+        MockMvcBuilders.standaloneSetup(gitHubTaskController)
+                .build()
+                .perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(content()
+                        .string("[{\"RepositoryName\":\"repo1\",\"ownerLogin\":\"foo\",\"branch\":[]}]"));
+        Mockito.verifyNoInteractions(gitHubService);
+    }
+
+    /**
+     * This test method verifies that the upstream call headers are added to the response when enabled.
+     */
+    @Test
+    void testGetGitHubRepositoriesReportsUpstreamCalls() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(gitHubTaskController, "upstreamCallHeadersEnabled", true);
+        GitHubUserModel gitHubUserModel = new GitHubUserModel();
+        gitHubUserModel.setLogin("Login");
+        when(gitHubService.getDTOs(Mockito.<String>any())).thenReturn(new ArrayList<>());
+        when(gitHubService.validateUsername(Mockito.<String>any())).thenReturn(Optional.of(gitHubUserModel));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/api/github/repositories")
+                .param("username", "foo")
+                .header("Accept", "application/json");
+
+        // Act and Assert
+        try {
+            MockMvcBuilders.standaloneSetup(gitHubTaskController)
+                    .build()
+                    .perform(requestBuilder)
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("X-Upstream-Calls", "calls=0, cache-hits=0, rate-limit-consumed=0"))
+                    .andExpect(header().exists("Server-Timing"));
+        } finally {
+            ReflectionTestUtils.setField(gitHubTaskController, "upstreamCallHeadersEnabled", false);
+        }
+    }
+
+    /**
+     * This test method verifies that repositories are written in every binary format the client can ask for.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"application/cbor", "application/x-jackson-smile", "application/x-protobuf"})
+    void testGetGitHubRepositoriesWithBinaryAcceptHeader(String acceptHeader) throws Exception {
+        // Arrange
+        GitHubUserModel gitHubUserModel = new GitHubUserModel();
+        gitHubUserModel.setLogin("Login");
+        ArrayList<GitHubDTO> gitHubDTOList = new ArrayList<>();
+        gitHubDTOList.add(new GitHubDTO("repo1", "foo", new ArrayList<>()));
+        when(gitHubService.getDTOs(Mockito.<String>any())).thenReturn(gitHubDTOList);
+        when(gitHubService.validateUsername(Mockito.<String>any())).thenReturn(Optional.of(gitHubUserModel));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/api/github/repositories")
+                .param("username", "foo")
+                .header("Accept", acceptHeader);
+
+        // Act and Assert
+        withAllResponseFormats()
+                .perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(acceptHeader));
+    }
+
+    /**
+     * This test method verifies that the {@code Accept} header is negotiated instead of matched literally: lists,
+     * quality values and wildcards are accepted and the converters write the preferred supported format.
+     */
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "application/cbor, application/json | application/cbor",
+            "application/x-protobuf;q=0.9 | application/x-protobuf",
+            "text/html, application/x-jackson-smile;q=0.8 | application/x-jackson-smile",
+            "*/* | application/json"})
+    void testGetGitHubRepositoriesNegotiatesAcceptHeader(String acceptHeader, String expectedContentType) throws Exception {
+        // Arrange
+        GitHubUserModel gitHubUserModel = new GitHubUserModel();
+        gitHubUserModel.setLogin("Login");
+        when(gitHubService.getDTOs(Mockito.<String>any())).thenReturn(new ArrayList<>());
+        when(gitHubService.validateUsername(Mockito.<String>any())).thenReturn(Optional.of(gitHubUserModel));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/api/github/repositories")
+                .param("username", "foo")
+                .header("Accept", acceptHeader);
+
+        // Act and Assert
+        withAllResponseFormats()
+                .perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(expectedContentType));
+    }
+
+    /**
+     * This test method verifies that an {@code Accept} header accepting none of the supported media types,
+     * or only with a quality value of zero, is rejected.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"text/html", "application/json;q=0", "not a media type"})
+    void testGetGitHubRepositoriesWithUnsupportedAcceptHeader(String acceptHeader) {
+        assertThrows(BadHeaderException.class, () -> gitHubTaskController.getGitHubRepositories("odyn666", acceptHeader));
+    }
+
+    /**
+     * This test method verifies that a client asking for a binary format gets a {@code Not Found} response
+     * in that format, rather than a server error, when the user does not exist.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"application/cbor", "application/x-jackson-smile", "application/x-protobuf"})
+    void testGetGitHubRepositoriesOfUnknownUserWithBinaryAcceptHeader(String acceptHeader) throws Exception {
+        // Arrange
+        when(gitHubService.validateUsername(Mockito.<String>any())).thenReturn(Optional.empty());
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/api/github/repositories")
+                .param("username", "foo")
+                .header("Accept", acceptHeader);
+
+        // Act and Assert
+        withAllResponseFormats()
+                .perform(requestBuilder)
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(acceptHeader));
+    }
+
+    /**
+     * This test method verifies that the changes of a watched account are read from the change log without calling the GitHub API.
+     */
+    @Test
+    void testGetBranchChangesOfWatchedAccount() throws Exception {
+        // Arrange
+        when(watchlistService.isWatched("foo")).thenReturn(true);
+        when(changeFeedService.getChanges("foo", "abc-1"))
+                .thenReturn(new ChangeFeedDTO("foo", "abc-1", false, new ArrayList<>()));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/api/github/changes")
+                .param("username", "foo")
+                .param("since", "abc-1");
+
+        // Act and Assert
+        MockMvcBuilders.standaloneSetup(gitHubTaskController)
+                .build()
+                .perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(content()
+                        .string("{\"username\":\"foo\",\"cursor\":\"abc-1\",\"resyncRequired\":false,\"changes\":[]}"));
+        Mockito.verifyNoInteractions(gitHubService);
+    }
+
     /**
      * This test method verifies the behavior of the {@code getGitHubRepositories} method in the {@code GitHubTaskController} class when a user is not found.
      * It asserts that a {@code UserNotFoundException} is thrown with the message "USER NOT FOUND" when an invalid username is provided.
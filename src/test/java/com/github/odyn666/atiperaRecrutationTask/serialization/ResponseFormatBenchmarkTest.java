@@ -0,0 +1,230 @@
+package com.github.odyn666.atiperaRecrutationTask.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.github.odyn666.atiperaRecrutationTask.dto.ErrorResponse;
+import com.github.odyn666.atiperaRecrutationTask.dto.GitHubDTO;
+import com.github.odyn666.atiperaRecrutationTask.model.BranchModel;
+import com.github.odyn666.atiperaRecrutationTask.model.CommitModel;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares payload size and serialization throughput of the binary response formats against JSON
+ * for a large organization. The numbers are logged, the assertions only guard the payload sizes.
+ */
+class ResponseFormatBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseFormatBenchmarkTest.class);
+
+    private static final int REPOSITORIES = 500;
+    private static final int BRANCHES_PER_REPOSITORY = 5;
+    private static final int WARMUP_ITERATIONS = 50;
+    private static final int MEASURED_ITERATIONS = 200;
+    private static final Type DTO_LIST_TYPE = new ParameterizedTypeReference<List<GitHubDTO>>() {
+    }.getType();
+
+    private List<GitHubDTO> repositories;
+
+    @BeforeEach
+    void setup() {
+        repositories = new ArrayList<>();
+        for (int r = 0; r < REPOSITORIES; r++) {
+            List<BranchModel> branches = new ArrayList<>();
+            for (int b = 0; b < BRANCHES_PER_REPOSITORY; b++) {
+                CommitModel commit = new CommitModel();
+                commit.setSha(String.format("%040x", (long) r * BRANCHES_PER_REPOSITORY + b + 0x1234_5678_9abcL));
+                BranchModel branch = new BranchModel();
+                branch.setName(b == 0 ? "main" : "feature-" + b);
+                branch.setCommit(commit);
+                branches.add(branch);
+            }
+            repositories.add(new GitHubDTO("repository-" + r, "large-org", branches));
+        }
+    }
+
+    /**
+     * This test method verifies that SHAs are written as 20 raw bytes to CBOR and read back as hexadecimal text.
+     */
+    @Test
+    void givenCbor_whenRoundTripped_thenShaIsRestored() throws IOException {
+        CBORMapper mapper = new CBORMapper();
+        CommitModel commit = repositories.get(0).branch().get(0).getCommit();
+
+        byte[] payload = mapper.writeValueAsBytes(commit);
+        CommitModel result = mapper.readValue(payload, CommitModel.class);
+
+        assertEquals(commit.getSha(), result.getSha());
+        assertTrue(payload.length < ShaCodec.SHA_LENGTH);
+    }
+
+    /**
+     * This test method verifies that JSON keeps SHAs as hexadecimal text.
+     */
+    @Test
+    void givenJson_thenShaIsWrittenAsText() throws IOException {
+        CommitModel commit = repositories.get(0).branch().get(0).getCommit();
+
+        String payload = new ObjectMapper().writeValueAsString(commit);
+
+        assertEquals("{\"sha\":\"" + commit.getSha() + "\"}", payload);
+    }
+
+    /**
+     * This test method verifies that the Protobuf payload decodes back to the repositories, branches and raw SHA bytes
+     * that were written, with every nested message length matching its content.
+     */
+    @Test
+    void givenProtobuf_whenDecoded_thenFieldValuesAreRestored() throws IOException {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        new GitHubDTOProtobufHttpMessageConverter()
+                .write(repositories, DTO_LIST_TYPE, GitHubDTOProtobufHttpMessageConverter.APPLICATION_PROTOBUF, outputMessage);
+
+        List<GitHubDTO> result = new ArrayList<>();
+        CodedInputStream input = CodedInputStream.newInstance(outputMessage.getBodyAsBytes());
+        for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+            assertEquals(tag(1, WireFormat.WIRETYPE_LENGTH_DELIMITED), tag);
+            int limit = input.pushLimit(input.readRawVarint32());
+            result.add(readRepository(input));
+            assertTrue(input.isAtEnd());
+            input.popLimit(limit);
+        }
+
+        assertEquals(repositories.size(), result.size());
+        for (int r = 0; r < repositories.size(); r++) {
+            GitHubDTO expected = repositories.get(r);
+            GitHubDTO actual = result.get(r);
+            assertEquals(expected.RepositoryName(), actual.RepositoryName());
+            assertEquals(expected.ownerLogin(), actual.ownerLogin());
+            assertEquals(expected.branch().size(), actual.branch().size());
+            for (int b = 0; b < expected.branch().size(); b++) {
+                assertEquals(expected.branch().get(b).getName(), actual.branch().get(b).getName());
+                assertEquals(expected.branch().get(b).getCommit().getSha(), actual.branch().get(b).getCommit().getSha());
+            }
+        }
+    }
+
+    /**
+     * This test method verifies that errors are written as the Protobuf {@code ErrorResponse} message.
+     */
+    @Test
+    void givenErrorResponse_whenWrittenAsProtobuf_thenStatusAndMessageAreEncoded() throws IOException {
+        GitHubDTOProtobufHttpMessageConverter converter = new GitHubDTOProtobufHttpMessageConverter();
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+
+        assertTrue(converter.canWrite(ErrorResponse.class, GitHubDTOProtobufHttpMessageConverter.APPLICATION_PROTOBUF));
+        converter.write(new ErrorResponse(404, "USER NOT FOUND"), ErrorResponse.class,
+                GitHubDTOProtobufHttpMessageConverter.APPLICATION_PROTOBUF, outputMessage);
+
+        CodedInputStream input = CodedInputStream.newInstance(outputMessage.getBodyAsBytes());
+        assertEquals(tag(1, WireFormat.WIRETYPE_VARINT), input.readTag());
+        assertEquals(404, input.readInt32());
+        assertEquals(tag(2, WireFormat.WIRETYPE_LENGTH_DELIMITED), input.readTag());
+        assertEquals("USER NOT FOUND", input.readString());
+        assertTrue(input.isAtEnd());
+    }
+
+    /**
+     * This test method verifies that CBOR, Smile and Protobuf payloads of a large organization are smaller than JSON,
+     * and logs the size and serialization throughput of every format.
+     */
+    @Test
+    void givenLargeOrganization_thenBinaryFormatsAreSmallerThanJson() throws IOException {
+        ObjectMapper jsonMapper = new ObjectMapper();
+        CBORMapper cborMapper = new CBORMapper();
+        SmileMapper smileMapper = new SmileMapper();
+        GitHubDTOProtobufHttpMessageConverter protobufConverter = new GitHubDTOProtobufHttpMessageConverter();
+
+        int json = measure("json", () -> jsonMapper.writeValueAsBytes(repositories));
+        int cbor = measure("cbor", () -> cborMapper.writeValueAsBytes(repositories));
+        int smile = measure("smile", () -> smileMapper.writeValueAsBytes(repositories));
+        int protobuf = measure("protobuf", () -> {
+            MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+            protobufConverter.write(repositories, DTO_LIST_TYPE, GitHubDTOProtobufHttpMessageConverter.APPLICATION_PROTOBUF, outputMessage);
+            return outputMessage.getBodyAsBytes();
+        });
+
+        assertTrue(cbor < json);
+        assertTrue(smile < json);
+        assertTrue(protobuf < json);
+    }
+
+    private static int tag(int fieldNumber, int wireType) {
+        return fieldNumber << 3 | wireType;
+    }
+
+    private static GitHubDTO readRepository(CodedInputStream input) throws IOException {
+        String name = null;
+        String ownerLogin = null;
+        List<BranchModel> branches = new ArrayList<>();
+        for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 1 -> name = input.readString();
+                case 2 -> ownerLogin = input.readString();
+                case 3 -> {
+                    int limit = input.pushLimit(input.readRawVarint32());
+                    branches.add(readBranch(input));
+                    assertTrue(input.isAtEnd());
+                    input.popLimit(limit);
+                }
+                default -> throw new AssertionError("Unexpected repository field " + WireFormat.getTagFieldNumber(tag));
+            }
+        }
+        return new GitHubDTO(name, ownerLogin, branches);
+    }
+
+    private static BranchModel readBranch(CodedInputStream input) throws IOException {
+        BranchModel branch = new BranchModel();
+        for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 1 -> branch.setName(input.readString());
+                case 2 -> {
+                    int limit = input.pushLimit(input.readRawVarint32());
+                    assertEquals(tag(1, WireFormat.WIRETYPE_LENGTH_DELIMITED), input.readTag());
+                    CommitModel commit = new CommitModel();
+                    commit.setSha(ShaCodec.toHex(input.readByteArray()));
+                    branch.setCommit(commit);
+                    assertTrue(input.isAtEnd());
+                    input.popLimit(limit);
+                }
+                default -> throw new AssertionError("Unexpected branch field " + WireFormat.getTagFieldNumber(tag));
+            }
+        }
+        return branch;
+    }
+
+    private int measure(String format, Serializer serializer) throws IOException {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            serializer.serialize();
+        }
+        int size = 0;
+        long started = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            size = serializer.serialize().length;
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        log.info(String.format(Locale.ROOT, "%-8s %8d bytes %10.1f responses/s", format, size, MEASURED_ITERATIONS / seconds));
+        return size;
+    }
+
+    @FunctionalInterface
+    private interface Serializer {
+        byte[] serialize() throws IOException;
+    }
+}